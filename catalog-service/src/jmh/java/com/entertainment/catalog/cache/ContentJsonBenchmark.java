@@ -0,0 +1,81 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.entertainment.catalog.domain.ContentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous response path (Jackson encodes the loaded entities on every request) with splicing
+ * fragments from {@link ContentJsonCache}. Both sides start from entities already in memory, i.e. a perfect
+ * L2 hit. Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContentJsonBenchmark {
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ObjectMapper objectMapper;
+    private ContentJsonCache cache;
+    private List<Content> contents;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cache = new ContentJsonCache(objectMapper, new SimpleMeterRegistry(), true, 64L << 20, Duration.ofMinutes(10));
+        contents = new ArrayList<>(batchSize);
+        ids = new ArrayList<>(batchSize);
+        for (long id = 1; id <= batchSize; id++) {
+            Content content = Content.builder()
+                    .id(id)
+                    .title("Benchmark Title " + id)
+                    .type(ContentType.MOVIE)
+                    .durationMinutes(90 + (int) id)
+                    .genre("DRAMA")
+                    .publishedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id))
+                    .build();
+            contents.add(content);
+            ids.add(id);
+            cache.encode(content, cache.generation(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeEntities() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * batchSize);
+        objectMapper.writeValue(out, contents);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] spliceCachedFragments() throws IOException {
+        List<byte[]> fragments = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            fragments.add(cache.get(id));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) ContentJsonCache.arrayLength(fragments));
+        ContentJsonCache.writeArray(fragments, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,162 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.cache.internal.NoCachingRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the hottest {@link Content} entities into the L2 region after startup, in parallel batches,
+ * so the first minutes of traffic do not all fall through to Postgres. Readiness stays
+ * {@code OUT_OF_SERVICE} (see {@link CacheWarmupHealthIndicator}) until warm-up finishes or times out.
+ */
+@Component
+@Slf4j
+public class CacheWarmer {
+
+    public enum State { PENDING, WARMING, COMPLETED, FAILED, SKIPPED }
+
+    private final ContentPopularityTracker popularityTracker;
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration timeout;
+    private final Timer warmupTimer;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger loaded = new AtomicInteger();
+    private volatile State state = State.PENDING;
+    private volatile long durationMillis;
+
+    public CacheWarmer(ContentPopularityTracker popularityTracker,
+                       EntityManager entityManager,
+                       EntityManagerFactory entityManagerFactory,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${catalog.cache-warmup.enabled}") boolean enabled,
+                       @Value("${catalog.cache-warmup.batch-size}") int batchSize,
+                       @Value("${catalog.cache-warmup.parallelism}") int parallelism,
+                       @Value("${catalog.cache-warmup.timeout}") Duration timeout) {
+        this.popularityTracker = popularityTracker;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+        this.warmupTimer = Timer.builder("catalog.cache.warmup.duration")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.warmup.progress", this, CacheWarmer::getProgress)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        Thread.ofPlatform().name("cache-warmer").daemon().start(this::warmUp);
+    }
+
+    public void warmUp() {
+        // With the second-level cache disabled Hibernate installs the no-op region factory.
+        if (!enabled || entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory() instanceof NoCachingRegionFactory) {
+            state = State.SKIPPED;
+            return;
+        }
+        state = State.WARMING;
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Long> ids = popularityTracker.hottestIds();
+            total.set(ids.size());
+
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                batches.add(CompletableFuture.runAsync(() -> loadBatch(batch), executor));
+            }
+            CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            state = State.COMPLETED;
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up timed out after {} with {}/{} entities loaded", timeout, loaded.get(), total.get());
+            state = State.FAILED;
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed with {}/{} entities loaded", loaded.get(), total.get(), e);
+            state = State.FAILED;
+        } finally {
+            executor.shutdownNow();
+            long elapsedNanos = System.nanoTime() - start;
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            warmupTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        log.info("Cache warm-up {} in {} ms: {}/{} entities loaded",
+                state.name().toLowerCase(), durationMillis, loaded.get(), total.get());
+    }
+
+    /**
+     * Ids already in the L2 region are served from it and only the rest are queried, in one round trip per batch,
+     * rather than asking the region about every id up front. Loaded entities are put into the region as a side
+     * effect.
+     */
+    private void loadBatch(List<Long> ids) {
+        Long found = readOnlyTransaction.execute(status -> entityManager.unwrap(Session.class)
+                .byMultipleIds(Content.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .count());
+        loaded.addAndGet(found != null ? found.intValue() : 0);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isFinished() {
+        return state != State.PENDING && state != State.WARMING;
+    }
+
+    public double getProgress() {
+        int expected = total.get();
+        return expected == 0 ? (isFinished() ? 1.0 : 0.0) : (double) loaded.get() / expected;
+    }
+
+    public int getLoaded() {
+        return loaded.get();
+    }
+
+    public int getTotal() {
+        return total.get();
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
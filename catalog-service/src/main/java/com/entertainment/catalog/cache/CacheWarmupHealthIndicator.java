@@ -0,0 +1,29 @@
+package com.entertainment.catalog.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: keeps the instance out of rotation until the L2 warm-up has run.
+ * A failed or timed-out warm-up still reports UP, since a cold cache is slower but not broken.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmer.isFinished() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("state", cacheWarmer.getState())
+                .withDetail("loaded", cacheWarmer.getLoaded())
+                .withDetail("total", cacheWarmer.getTotal())
+                .withDetail("progress", cacheWarmer.getProgress())
+                .withDetail("durationMillis", cacheWarmer.getDurationMillis())
+                .build();
+    }
+}
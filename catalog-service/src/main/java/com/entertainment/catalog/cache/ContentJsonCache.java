@@ -0,0 +1,146 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-content cache of the JSON bytes served by the catalog API. Content is immutable once published, so the
+ * entity only has to be encoded once per instance instead of on every request; batch responses are written by
+ * splicing the cached fragments straight into the response stream.
+ * <p>
+ * The cache is bounded by encoded size and entries expire after {@code catalog.json-cache.expire-after-write}.
+ * Changes made through this service are invalidated after commit, here and, through
+ * {@link ContentJsonInvalidationListener}, on the other members of the L2 Hazelcast cluster, normally within
+ * milliseconds. A member that misses the message, for example while partitioned, and rows changed outside this
+ * service stay stale until the entry expires.
+ * <p>
+ * A reader that loaded the entity before an update committed must not cache it after the invalidation, so each
+ * id maps to a generation that {@link #invalidate} bumps: callers read it with {@link #generation} before
+ * loading and {@link #encode} only caches when it is unchanged. Generations are striped, so an invalidation
+ * occasionally skips caching an unrelated id, which only costs a later re-encode.
+ */
+@Component
+public class ContentJsonCache {
+
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Long, byte[]> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter cachedBytesServed;
+    private final Counter encodedBytesServed;
+
+    public ContentJsonCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${catalog.json-cache.enabled}") boolean enabled,
+                            @Value("${catalog.json-cache.max-bytes}") long maxBytes,
+                            @Value("${catalog.json-cache.expire-after-write}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, byte[] json) -> json.length)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "content-json");
+        Gauge.builder("catalog.json.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+        this.cachedBytesServed = Counter.builder("catalog.json.bytes.served")
+                .baseUnit("bytes")
+                .tag("source", "cache")
+                .register(meterRegistry);
+        this.encodedBytesServed = Counter.builder("catalog.json.bytes.served")
+                .baseUnit("bytes")
+                .tag("source", "encoded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the cached encoding of the content, or {@code null} on a miss
+     */
+    public byte[] get(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        byte[] json = cache.getIfPresent(id);
+        if (json != null) {
+            cachedBytesServed.increment(json.length);
+        }
+        return json;
+    }
+
+    /**
+     * To be read before the content is loaded and passed to {@link #encode}.
+     */
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * Encodes the content exactly as Jackson would for the entity and caches the result, unless the content
+     * was invalidated since {@code generation} was read.
+     */
+    public byte[] encode(Content content, long generation) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode content " + content.getId(), e);
+        }
+        Long id = content.getId();
+        if (enabled && id != null) {
+            // Checked under the entry's lock, which invalidate() also takes after bumping the generation.
+            cache.asMap().compute(id, (key, current) -> generations.get(stripe(key)) == generation ? json : current);
+        }
+        encodedBytesServed.increment(json.length);
+        return json;
+    }
+
+    public void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Length of the JSON array {@link #writeArray} produces for these fragments.
+     */
+    public static long arrayLength(List<byte[]> fragments) {
+        long length = 2 + Math.max(fragments.size() - 1, 0);
+        for (byte[] fragment : fragments) {
+            length += fragment.length;
+        }
+        return length;
+    }
+
+    public static void writeArray(List<byte[]> fragments, OutputStream out) throws IOException {
+        out.write('[');
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragments.get(i));
+        }
+        out.write(']');
+    }
+}
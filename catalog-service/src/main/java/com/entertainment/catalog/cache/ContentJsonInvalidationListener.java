@@ -0,0 +1,97 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.hibernate.AbstractHazelcastCacheRegionFactory;
+import com.hazelcast.topic.ITopic;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops the cached JSON of a {@link Content} that is updated or removed through JPA. Eviction waits for the
+ * commit so a concurrent reader cannot re-cache the old version from the database in the meantime.
+ * New content needs no hook: ids are never reused and misses are not cached.
+ * <p>
+ * Each instance caches its own JSON, so the id is also published on a topic of the Hazelcast cluster backing
+ * the L2 cache, and every other member drops its copy when the message arrives. Delivery is best effort; see
+ * {@link ContentJsonCache} for the staleness this leaves.
+ */
+@Component
+@Slf4j
+public class ContentJsonInvalidationListener {
+
+    private static final String INVALIDATION_TOPIC = "catalog-content-json-invalidations";
+
+    private final ContentJsonCache contentJsonCache;
+    // Looked up lazily: this listener is created while the EntityManagerFactory is being built.
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private volatile ITopic<Long> invalidations;
+
+    public ContentJsonInvalidationListener(ContentJsonCache contentJsonCache,
+                                           ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.contentJsonCache = contentJsonCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        RegionFactory regionFactory = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (!(regionFactory instanceof AbstractHazelcastCacheRegionFactory hazelcastRegionFactory)) {
+            return;
+        }
+        HazelcastInstance hazelcast = hazelcastRegionFactory.getHazelcastInstance();
+        if (hazelcast == null) {
+            return;
+        }
+        ITopic<Long> topic = hazelcast.getTopic(INVALIDATION_TOPIC);
+        topic.addMessageListener(message -> {
+            Member publisher = message.getPublishingMember();
+            if (publisher == null || !publisher.localMember()) {
+                contentJsonCache.invalidate(message.getMessageObject());
+            }
+        });
+        invalidations = topic;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Content content) {
+        Long id = content.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(id);
+                }
+            });
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private void invalidate(Long id) {
+        contentJsonCache.invalidate(id);
+        ITopic<Long> topic = invalidations;
+        if (topic == null) {
+            return;
+        }
+        try {
+            topic.publish(id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish JSON cache invalidation for content {}; other instances stay stale until expiry",
+                    id, e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.hibernate.AbstractHazelcastCacheRegionFactory;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent second-level cache misses for the same content id into a single database load.
+ * A miss is detected by a second-level cache lookup before any load, so a hit never enters the coordination.
+ * The first request to miss becomes the leader and loads the row; requests that miss while the load is in
+ * flight wait for it and share its result instead of querying Postgres themselves. Shared entities come from
+ * the leader's session, which is safe because they are only read.
+ * <p>
+ * When the Hazelcast cluster backing the L2 cache has more than one member, the leader also takes a per-id
+ * cluster lock before loading, so a leader on another member that is already loading the id finishes first
+ * and this load is served from the freshly populated cache.
+ * <p>
+ * Optionally, single-content reads refresh an entry before it expires using probabilistic early expiration
+ * (XFetch): the closer an entry is to {@code early-refresh.ttl} and the slower it was to load, the more likely a
+ * request is to reload it, so a hot title is refreshed by one request before it can expire under load.
+ */
+@Component
+@Slf4j
+public class ContentLoadCoordinator {
+
+    private static final String CLUSTER_LOCK_MAP = "catalog-content-loads";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final Map<Long, CompletableFuture<Optional<Content>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, LoadTiming> loadTimings = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final boolean enabled;
+    private final Duration waitTimeout;
+    private final boolean clusterLock;
+    private final boolean earlyRefresh;
+    private final long ttlNanos;
+    private final double beta;
+    private final int maxTracked;
+    private final Counter leaderLoads;
+    private final Counter collapsedLoads;
+    private final Counter fallbackLoads;
+    private final Counter earlyRefreshes;
+    private volatile LongConsumer waitListener = id -> {};
+
+    public ContentLoadCoordinator(EntityManagerFactory entityManagerFactory,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${catalog.single-flight.enabled}") boolean enabled,
+                                  @Value("${catalog.single-flight.wait-timeout}") Duration waitTimeout,
+                                  @Value("${catalog.single-flight.cluster-lock}") boolean clusterLock,
+                                  @Value("${catalog.single-flight.early-refresh.enabled}") boolean earlyRefresh,
+                                  @Value("${catalog.single-flight.early-refresh.ttl}") Duration ttl,
+                                  @Value("${catalog.single-flight.early-refresh.beta}") double beta,
+                                  @Value("${catalog.single-flight.early-refresh.max-tracked}") int maxTracked) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.waitTimeout = waitTimeout;
+        this.clusterLock = clusterLock;
+        this.earlyRefresh = earlyRefresh;
+        this.ttlNanos = ttl.toNanos();
+        this.beta = beta;
+        this.maxTracked = maxTracked;
+        this.leaderLoads = loads(meterRegistry, "leader");
+        this.collapsedLoads = loads(meterRegistry, "collapsed");
+        this.fallbackLoads = loads(meterRegistry, "fallback");
+        this.earlyRefreshes = Counter.builder("catalog.content.early.refreshes")
+                .register(meterRegistry);
+        Gauge.builder("catalog.content.loads.inflight", inFlight, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("catalog.content.loads.waiting", waiting, AtomicInteger::get)
+                .description("Callers waiting for another caller's in-flight load")
+                .register(meterRegistry);
+    }
+
+    private static Counter loads(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.content.loads")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param cached    looks the content up in the second-level cache only, without querying the database
+     * @param loader    loads the content, reading through the second-level cache
+     * @param refresher reloads the given cached content from the database and overwrites the cached entry
+     */
+    public Optional<Content> load(Long id, Supplier<Optional<Content>> cached, Supplier<Optional<Content>> loader,
+                                  Function<Content, Optional<Content>> refresher) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Optional<Content> hit = cached.get();
+        if (hit.isPresent()) {
+            if (shouldRefreshEarly(id)) {
+                earlyRefreshes.increment();
+                return singleFlight(id, () -> refresher.apply(hit.get()), () -> hit);
+            }
+            return hit;
+        }
+        return singleFlight(id, loader, loader);
+    }
+
+    /**
+     * Loads a batch, sharing in-flight loads with concurrent callers for ids that are not cached. The ids missing
+     * from {@code cached} that this call leads are loaded in a single call to {@code loader}.
+     *
+     * @param cached returns the contents found in the second-level cache, without querying the database
+     * @param loader loads contents, reading through the second-level cache
+     * @return the contents that exist, in the order the ids were requested
+     */
+    public List<Content> loadAll(Collection<Long> ids, Function<List<Long>, List<Content>> cached,
+                                 Function<List<Long>, List<Content>> loader) {
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (!enabled || requested.isEmpty()) {
+            return loader.apply(requested);
+        }
+
+        Map<Long, Content> loaded = new HashMap<>(requested.size() * 2);
+        cached.apply(requested).forEach(content -> loaded.put(content.getId(), content));
+
+        List<Long> leading = new ArrayList<>();
+        Map<Long, CompletableFuture<Optional<Content>>> led = new HashMap<>();
+        Map<Long, CompletableFuture<Optional<Content>>> joined = new HashMap<>();
+        for (Long id : requested) {
+            if (loaded.containsKey(id)) {
+                continue;
+            }
+            CompletableFuture<Optional<Content>> mine = new CompletableFuture<>();
+            CompletableFuture<Optional<Content>> existing = inFlight.putIfAbsent(id, mine);
+            if (existing == null) {
+                leading.add(id);
+                led.put(id, mine);
+            } else {
+                joined.put(id, existing);
+            }
+        }
+
+        if (!leading.isEmpty()) {
+            try {
+                withClusterLock(leading, () -> loader.apply(leading))
+                        .forEach(content -> loaded.put(content.getId(), content));
+                led.forEach((id, future) -> future.complete(Optional.ofNullable(loaded.get(id))));
+                leaderLoads.increment(led.size());
+            } catch (RuntimeException e) {
+                led.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                led.forEach(inFlight::remove);
+            }
+        }
+
+        List<Long> retry = new ArrayList<>();
+        joined.forEach((id, future) -> {
+            Optional<Optional<Content>> shared = await(id, future);
+            if (shared.isPresent()) {
+                collapsedLoads.increment();
+                shared.get().ifPresent(content -> loaded.put(id, content));
+            } else {
+                retry.add(id);
+            }
+        });
+        if (!retry.isEmpty()) {
+            fallbackLoads.increment(retry.size());
+            loader.apply(retry).forEach(content -> loaded.put(content.getId(), content));
+        }
+
+        List<Content> ordered = new ArrayList<>(loaded.size());
+        for (Long id : requested) {
+            Content content = loaded.get(id);
+            if (content != null) {
+                ordered.add(content);
+            }
+        }
+        return ordered;
+    }
+
+    private Optional<Content> singleFlight(Long id, Supplier<Optional<Content>> work, Supplier<Optional<Content>> fallback) {
+        CompletableFuture<Optional<Content>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Content>> existing = inFlight.putIfAbsent(id, mine);
+        if (existing != null) {
+            Optional<Optional<Content>> shared = await(id, existing);
+            if (shared.isPresent()) {
+                collapsedLoads.increment();
+                return shared.get();
+            }
+            fallbackLoads.increment();
+            return fallback.get();
+        }
+
+        try {
+            long start = System.nanoTime();
+            Optional<Content> result = withClusterLock(List.of(id), work);
+            recordLoad(id, start);
+            leaderLoads.increment();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * @return the leader's result, or empty if it failed or took longer than the wait timeout
+     */
+    private Optional<Optional<Content>> await(Long id, CompletableFuture<Optional<Content>> future) {
+        waiting.incrementAndGet();
+        waitListener.accept(id);
+        try {
+            return Optional.of(future.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            return Optional.empty();
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private <T> T withClusterLock(List<Long> ids, Supplier<T> work) {
+        IMap<Long, Boolean> locks = ids.isEmpty() ? null : clusterLocks();
+        if (locks == null) {
+            return work.get();
+        }
+        List<Long> acquired = new ArrayList<>(ids.size());
+        // One deadline for the whole batch, so waiting on N ids is bounded by the wait timeout rather than N times it.
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        try {
+            // Sorted so two members leading overlapping batches cannot deadlock.
+            for (Long id : ids.stream().sorted().toList()) {
+                long remainingMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 0);
+                if (locks.tryLock(id, remainingMillis, TimeUnit.MILLISECONDS,
+                        waitTimeout.toMillis() * 2, TimeUnit.MILLISECONDS)) {
+                    acquired.add(id);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            return work.get();
+        } finally {
+            for (Long id : acquired) {
+                try {
+                    locks.unlock(id);
+                } catch (IllegalMonitorStateException e) {
+                    log.debug("Cluster load lock for content {} expired before release", id);
+                }
+            }
+        }
+    }
+
+    private IMap<Long, Boolean> clusterLocks() {
+        if (!clusterLock) {
+            return null;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        if (!(regionFactory instanceof AbstractHazelcastCacheRegionFactory hazelcastRegionFactory)) {
+            return null;
+        }
+        HazelcastInstance hazelcast = hazelcastRegionFactory.getHazelcastInstance();
+        if (hazelcast == null || !hazelcast.getLifecycleService().isRunning()
+                || hazelcast.getCluster().getMembers().size() < 2) {
+            return null;
+        }
+        return hazelcast.getMap(CLUSTER_LOCK_MAP);
+    }
+
+    /**
+     * Called with the id whenever a caller starts waiting for another caller's load; lets tests line callers up
+     * without polling.
+     */
+    void onWait(LongConsumer listener) {
+        this.waitListener = listener;
+    }
+
+    private boolean shouldRefreshEarly(Long id) {
+        if (!earlyRefresh) {
+            return false;
+        }
+        LoadTiming timing = loadTimings.get(id);
+        if (timing == null) {
+            return false;
+        }
+        double gap = timing.loadNanos() * beta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.nanoTime() + gap >= timing.loadedAtNanos() + ttlNanos;
+    }
+
+    private void recordLoad(Long id, long startNanos) {
+        if (!earlyRefresh) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (loadTimings.size() >= maxTracked && !loadTimings.containsKey(id)) {
+            loadTimings.clear();
+        }
+        loadTimings.put(id, new LoadTiming(now, now - startNanos));
+    }
+
+    private record LoadTiming(long loadedAtNanos, long loadNanos) {}
+}
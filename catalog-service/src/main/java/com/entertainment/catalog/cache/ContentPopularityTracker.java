@@ -0,0 +1,163 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.HotContent;
+import com.entertainment.catalog.repository.HotContentBatchWriter;
+import com.entertainment.catalog.repository.HotContentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples the content ids requested through {@code CatalogService} and periodically folds them into the
+ * persisted {@code hot_content} snapshot. Older scores are halved once per snapshot interval, so the ranking
+ * follows the current request mix while still smoothing over quiet intervals.
+ *
+ * <p>Every instance folds in its own samples, one at a time under a Postgres advisory lock. The halving is
+ * stamped in {@code captured_at} and skipped while another instance has applied it within the last half
+ * interval, so the decay rate does not grow with the number of instances.
+ */
+@Component
+@Slf4j
+public class ContentPopularityTracker {
+
+    private static final long SNAPSHOT_LOCK_KEY = 0x686f745f636f6eL;
+
+    private final HotContentRepository hotContentRepository;
+    private final HotContentBatchWriter hotContentBatchWriter;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int snapshotSize;
+    private final int maxTrackedIds;
+    private final Duration decayInterval;
+    private volatile Map<Long, LongAdder> samples = new ConcurrentHashMap<>();
+
+    public ContentPopularityTracker(HotContentRepository hotContentRepository,
+                                    HotContentBatchWriter hotContentBatchWriter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${catalog.cache-warmup.enabled}") boolean enabled,
+                                    @Value("${catalog.cache-warmup.sample-rate}") double sampleRate,
+                                    @Value("${catalog.cache-warmup.snapshot-size}") int snapshotSize,
+                                    @Value("${catalog.cache-warmup.snapshot-interval-ms}") long snapshotIntervalMs) {
+        this.hotContentRepository = hotContentRepository;
+        this.hotContentBatchWriter = hotContentBatchWriter;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.snapshotSize = snapshotSize;
+        this.maxTrackedIds = snapshotSize * 4;
+        this.decayInterval = Duration.ofMillis(snapshotIntervalMs / 2);
+    }
+
+    public void record(Long id) {
+        if (enabled && id != null && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            increment(id);
+        }
+    }
+
+    public void record(Collection<Long> ids) {
+        if (!enabled || ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            record(id);
+        }
+    }
+
+    private void increment(Long id) {
+        Map<Long, LongAdder> current = samples;
+        LongAdder counter = current.get(id);
+        if (counter == null) {
+            if (current.size() >= maxTrackedIds) {
+                return;
+            }
+            counter = current.computeIfAbsent(id, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.cache-warmup.snapshot-interval-ms}",
+            initialDelayString = "${catalog.cache-warmup.snapshot-interval-ms}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, LongAdder> window = samples;
+        samples = new ConcurrentHashMap<>();
+        if (window.isEmpty()) {
+            return;
+        }
+
+        Boolean written;
+        try {
+            written = transaction.execute(status -> {
+                if (!hotContentRepository.tryLockSnapshot(SNAPSHOT_LOCK_KEY)) {
+                    return false;
+                }
+                write(window);
+                return true;
+            });
+        } catch (RuntimeException e) {
+            // The snapshot was rolled back, so fold the drained samples into the next interval instead.
+            restore(window);
+            throw e;
+        }
+        if (!Boolean.TRUE.equals(written)) {
+            // Another instance is writing its snapshot; keep these samples for the next interval.
+            restore(window);
+            log.debug("Popularity snapshot is locked by another instance, deferring {} sampled ids", window.size());
+        }
+    }
+
+    private void write(Map<Long, LongAdder> window) {
+        LocalDateTime now = LocalDateTime.now();
+        List<HotContent> previous = hotContentRepository.findAll();
+        LocalDateTime lastDecay = previous.stream()
+                .map(HotContent::getCapturedAt)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        boolean decay = lastDecay == null || lastDecay.isBefore(now.minus(decayInterval));
+        LocalDateTime capturedAt = decay ? now : lastDecay;
+
+        Map<Long, Long> scores = new HashMap<>();
+        for (HotContent entry : previous) {
+            scores.put(entry.getContentId(), decay ? entry.getScore() / 2 : entry.getScore());
+        }
+        window.forEach((id, count) -> scores.merge(id, count.sum(), Long::sum));
+
+        Map<Long, Long> snapshot = new LinkedHashMap<>();
+        scores.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(snapshotSize)
+                .forEach(entry -> snapshot.put(entry.getKey(), entry.getValue()));
+        hotContentBatchWriter.replaceSnapshot(snapshot, capturedAt);
+        log.debug("Saved popularity snapshot from {} sampled ids (decayed: {})", window.size(), decay);
+    }
+
+    private void restore(Map<Long, LongAdder> window) {
+        window.forEach((id, count) -> samples.computeIfAbsent(id, key -> new LongAdder()).add(count.sum()));
+    }
+
+    public List<Long> hottestIds() {
+        return hotContentRepository.findByOrderByScoreDesc(Limit.of(snapshotSize)).stream()
+                .map(HotContent::getContentId)
+                .toList();
+    }
+}
@@ -1,13 +1,23 @@
 package com.entertainment.catalog.controller;
 
+import com.entertainment.catalog.cache.ContentJsonCache;
 import com.entertainment.catalog.domain.Content;
 import com.entertainment.catalog.domain.ContentType;
+import com.entertainment.catalog.service.CatalogImportService;
+import com.entertainment.catalog.service.CatalogImportService.ImportFormat;
+import com.entertainment.catalog.service.CatalogImportService.ImportResult;
+import com.entertainment.catalog.service.CatalogImportService.InvalidFeedException;
 import com.entertainment.catalog.service.CatalogService;
+import com.entertainment.catalog.service.ContentJsonService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,7 +25,11 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CatalogController {
 
+    private static final int MAX_ID_PAGE_SIZE = 50_000;
+
     private final CatalogService catalogService;
+    private final CatalogImportService catalogImportService;
+    private final ContentJsonService contentJsonService;
 
     @PostMapping
     public ResponseEntity<Content> createContent(@RequestBody CreateContentRequest request) {
@@ -30,9 +44,9 @@ public class CatalogController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Content> getContent(@PathVariable Long id) {
-        return catalogService.getContent(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getContent(@PathVariable Long id) {
+        return contentJsonService.getContentJson(id)
+                .map(json -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -42,8 +56,35 @@ public class CatalogController {
     }
 
     @GetMapping("/batch")
-    public ResponseEntity<List<Content>> getContentBatch(@RequestParam List<Long> ids) {
-        return ResponseEntity.ok(catalogService.getContentByIds(ids));
+    public void getContentBatch(@RequestParam List<Long> ids, HttpServletResponse response) throws IOException {
+        List<byte[]> fragments = contentJsonService.getContentJsonBatch(ids);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLengthLong(ContentJsonCache.arrayLength(fragments));
+        ContentJsonCache.writeArray(fragments, response.getOutputStream());
+    }
+
+    @GetMapping("/ids")
+    public ResponseEntity<List<Long>> getContentIds(@RequestParam(defaultValue = "0") long afterId,
+                                                    @RequestParam(defaultValue = "10000") int limit) {
+        if (limit < 1 || limit > MAX_ID_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(catalogService.getContentIdsAfter(afterId, limit));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportResult> importNdjson(InputStream body) {
+        return ResponseEntity.ok(catalogImportService.importContent(body, ImportFormat.NDJSON));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ImportResult> importCsv(InputStream body) {
+        return ResponseEntity.ok(catalogImportService.importContent(body, ImportFormat.CSV));
+    }
+
+    @ExceptionHandler(InvalidFeedException.class)
+    public ResponseEntity<String> handleInvalidFeed(InvalidFeedException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
 
     public record CreateContentRequest(String title, String type, Integer durationMinutes, String genre) {}
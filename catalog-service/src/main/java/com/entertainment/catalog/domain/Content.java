@@ -1,5 +1,6 @@
 package com.entertainment.catalog.domain;
 
+import com.entertainment.catalog.cache.ContentJsonInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
 @Cacheable
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "content", schema = "catalog_db")
+@EntityListeners(ContentJsonInvalidationListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,31 @@
+package com.entertainment.catalog.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted popularity snapshot entry used to warm the {@link Content} L2 region after a restart.
+ */
+@Entity
+@Table(name = "hot_content", schema = "catalog_db")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotContent {
+
+    @Id
+    @Column(name = "content_id")
+    private Long contentId;
+
+    @Column(nullable = false)
+    private Long score;
+
+    @Column(name = "captured_at", nullable = false)
+    private LocalDateTime capturedAt;
+}
@@ -0,0 +1,23 @@
+package com.entertainment.catalog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans one {@code CatalogService.getContentByIds} call.
+ */
+@Name("com.entertainment.catalog.ContentBatchLoad")
+@Label("Content Batch Load")
+@Category({"Entertainment", "Catalog"})
+@Description("Loads a batch of content entities through the second-level cache")
+public class ContentBatchLoadEvent extends Event {
+
+    @Label("Ids")
+    public int idsCount;
+
+    @Label("Result Size")
+    public int resultSize;
+}
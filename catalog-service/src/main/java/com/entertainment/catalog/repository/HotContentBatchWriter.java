@@ -0,0 +1,56 @@
+package com.entertainment.catalog.repository;
+
+import com.entertainment.catalog.domain.HotContent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Replaces the {@link HotContent} snapshot in one statement. Going through {@code saveAll} would merge every
+ * entity, since their ids are assigned, and cost a SELECT per row.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HotContentBatchWriter {
+
+    /**
+     * Upserts the incoming scores and drops every row that is no longer among them. The two touch disjoint
+     * rows, so they can share one snapshot.
+     */
+    private static final String REPLACE_SNAPSHOT = """
+            WITH incoming AS (
+                SELECT * FROM unnest(?::bigint[], ?::bigint[]) AS t(content_id, score)
+            ),
+            pruned AS (
+                DELETE FROM catalog_db.hot_content h
+                WHERE NOT EXISTS (SELECT 1 FROM incoming i WHERE i.content_id = h.content_id)
+            )
+            INSERT INTO catalog_db.hot_content (content_id, score, captured_at)
+            SELECT content_id, score, ? FROM incoming
+            ON CONFLICT (content_id) DO UPDATE SET score = EXCLUDED.score, captured_at = EXCLUDED.captured_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void replaceSnapshot(Map<Long, Long> scores, LocalDateTime capturedAt) {
+        Long[] contentIds = new Long[scores.size()];
+        Long[] values = new Long[scores.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> entry : scores.entrySet()) {
+            contentIds[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        jdbcTemplate.update(REPLACE_SNAPSHOT, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("bigint", contentIds));
+            ps.setArray(2, connection.createArrayOf("bigint", values));
+            ps.setTimestamp(3, Timestamp.valueOf(capturedAt));
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.entertainment.catalog.repository;
+
+import com.entertainment.catalog.domain.HotContent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HotContentRepository extends JpaRepository<HotContent, Long> {
+    List<HotContent> findByOrderByScoreDesc(Limit limit);
+
+    /**
+     * Transaction-scoped Postgres advisory lock that serializes snapshot writers across instances.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockSnapshot(@Param("key") long key);
+}
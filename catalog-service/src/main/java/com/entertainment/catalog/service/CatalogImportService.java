@@ -0,0 +1,348 @@
+package com.entertainment.catalog.service;
+
+import com.entertainment.catalog.domain.ContentType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams bulk catalog feeds into {@code catalog_db.content} through the PostgreSQL COPY protocol.
+ * Rows are validated and re-encoded as CSV into a fixed-size buffer, so memory stays bounded
+ * regardless of how large the uploaded feed is.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    private static final String COPY_SQL =
+            "COPY catalog_db.content (title, type, duration_minutes, genre, published_at) FROM STDIN WITH (FORMAT csv)";
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final int flushBytes;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private final Timer importTimer;
+    private final DistributionSummary throughput;
+
+    public CatalogImportService(DataSource dataSource,
+                                EntityManagerFactory entityManagerFactory,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.import.flush-bytes:65536}") int flushBytes) {
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.flushBytes = flushBytes;
+        this.importedRows = Counter.builder("catalog.import.rows")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("catalog.import.rows")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.importTimer = Timer.builder("catalog.import.duration")
+                .register(meterRegistry);
+        this.throughput = DistributionSummary.builder("catalog.import.throughput")
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public ImportResult importContent(InputStream body, ImportFormat format) {
+        long start = System.nanoTime();
+        LocalDateTime publishedAt = LocalDateTime.now();
+        ImportResult result;
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL);
+            try {
+                result = streamRows(body, format, publishedAt, copyIn);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Catalog import failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        // COPY bypasses Hibernate, so drop any cached query results that could now be incomplete.
+        // Entity regions stay warm: the import only inserts new rows and cannot stale a cached Content.
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = result.imported() / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9);
+        importTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        importedRows.increment(result.imported());
+        rejectedRows.increment(result.rejected());
+        throughput.record(rowsPerSecond);
+
+        log.info("Imported {} content rows ({} rejected) in {} ms",
+                result.imported(), result.rejected(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return new ImportResult(result.imported(), result.rejected(), result.errors(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+    }
+
+    private ImportResult streamRows(InputStream body, ImportFormat format, LocalDateTime publishedAt, CopyIn copyIn)
+            throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder buffer = new StringBuilder(flushBytes);
+        List<String> errors = new ArrayList<>();
+        String publishedAtValue = publishedAt.toString();
+        CsvHeader header = null;
+        long lineNumber = 0;
+        long imported = 0;
+        long rejected = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            long recordLine = lineNumber;
+            String record = line;
+            if (format == ImportFormat.CSV) {
+                // A quoted field may contain line breaks, so a CSV record ends only where its quotes balance.
+                StringBuilder multiLine = null;
+                while (hasOpenQuote(record)) {
+                    String next = reader.readLine();
+                    if (next == null || record.length() > MAX_RECORD_CHARS) {
+                        throw new InvalidFeedException("unbalanced quotes in the record starting at line " + recordLine);
+                    }
+                    lineNumber++;
+                    multiLine = multiLine == null ? new StringBuilder(record) : multiLine;
+                    record = multiLine.append('\n').append(next).toString();
+                }
+                if (header == null) {
+                    header = CsvHeader.parse(record);
+                    continue;
+                }
+            }
+            try {
+                ImportRow row = format == ImportFormat.CSV ? header.toRow(record) : parseJson(record);
+                appendCsv(buffer, row, publishedAtValue);
+                imported++;
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("line " + recordLine + ": " + e.getMessage());
+                }
+            }
+            if (buffer.length() >= flushBytes) {
+                flush(buffer, copyIn);
+            }
+        }
+        flush(buffer, copyIn);
+        return new ImportResult(imported, rejected, errors, 0, 0);
+    }
+
+    private ImportRow parseJson(String line) {
+        ImportRow row;
+        try {
+            row = objectMapper.readValue(line, ImportRow.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed JSON: " + e.getOriginalMessage());
+        }
+        if (row == null) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        return row;
+    }
+
+    private static void appendCsv(StringBuilder buffer, ImportRow row, String publishedAt) {
+        if (row.title() == null || row.title().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (row.type() == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        ContentType type;
+        try {
+            type = ContentType.valueOf(row.type().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown type: " + row.type());
+        }
+        if (row.durationMinutes() != null && row.durationMinutes() < 0) {
+            throw new IllegalArgumentException("durationMinutes must not be negative");
+        }
+
+        appendField(buffer, row.title()).append(',');
+        appendField(buffer, type.name()).append(',');
+        if (row.durationMinutes() != null) {
+            buffer.append(row.durationMinutes());
+        }
+        buffer.append(',');
+        if (row.genre() != null) {
+            appendField(buffer, row.genre());
+        }
+        buffer.append(',').append(publishedAt).append('\n');
+    }
+
+    private static StringBuilder appendField(StringBuilder buffer, String value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        return buffer.append('"');
+    }
+
+    private static void flush(StringBuilder buffer, CopyIn copyIn) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Whether the record ends inside a quoted field; doubled quotes toggle twice and so cancel out.
+     */
+    static boolean hasOpenQuote(String record) {
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quoted = !quoted;
+            }
+        }
+        return quoted;
+    }
+
+    /**
+     * Minimal RFC 4180 splitter for one complete record: supports quoted fields with embedded commas, line breaks
+     * and doubled quotes.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private record CsvHeader(Map<String, Integer> columns) {
+
+        static CsvHeader parse(String line) {
+            List<String> names;
+            try {
+                names = splitCsv(line);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidFeedException("malformed CSV header: " + e.getMessage());
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            if (!columns.containsKey("title") || !columns.containsKey("type")) {
+                throw new InvalidFeedException("CSV header must contain title and type columns");
+            }
+            return new CsvHeader(columns);
+        }
+
+        ImportRow toRow(String line) {
+            List<String> fields = splitCsv(line);
+            String duration = field(fields, "durationMinutes");
+            try {
+                return new ImportRow(
+                        field(fields, "title"),
+                        field(fields, "type"),
+                        duration == null ? null : Integer.valueOf(duration.trim()),
+                        field(fields, "genre"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("durationMinutes is not a number: " + duration);
+            }
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+    }
+
+    /**
+     * The feed as a whole cannot be read, as opposed to a single rejected row.
+     */
+    public static class InvalidFeedException extends RuntimeException {
+
+        public InvalidFeedException(String message) {
+            super(message);
+        }
+    }
+
+    public enum ImportFormat {
+        NDJSON,
+        CSV
+    }
+
+    public record ImportRow(String title, String type, Integer durationMinutes, String genre) {}
+
+    public record ImportResult(long imported, long rejected, List<String> errors, long durationMillis, long rowsPerSecond) {}
+}
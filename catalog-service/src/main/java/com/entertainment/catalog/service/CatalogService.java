@@ -1,13 +1,22 @@
 package com.entertainment.catalog.service;
 
+import com.entertainment.catalog.cache.ContentLoadCoordinator;
+import com.entertainment.catalog.cache.ContentPopularityTracker;
 import com.entertainment.catalog.domain.Content;
+import com.entertainment.catalog.profiling.ContentBatchLoadEvent;
 import com.entertainment.catalog.repository.ContentRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -16,6 +25,9 @@ import java.util.Optional;
 public class CatalogService {
 
     private final ContentRepository contentRepository;
+    private final ContentPopularityTracker popularityTracker;
+    private final ContentLoadCoordinator contentLoadCoordinator;
+    private final EntityManager entityManager;
 
     @Transactional
     public Content createContent(Content content) {
@@ -26,7 +38,9 @@ public class CatalogService {
 
     @Transactional(readOnly = true)
     public Optional<Content> getContent(Long id) {
-        return contentRepository.findById(id);
+        popularityTracker.record(id);
+        return contentLoadCoordinator.load(id, () -> findCached(List.of(id)).stream().findFirst(),
+                () -> contentRepository.findById(id), this::reloadIntoCache);
     }
 
     @Transactional(readOnly = true)
@@ -36,6 +50,72 @@ public class CatalogService {
 
     @Transactional(readOnly = true)
     public List<Content> getContentByIds(List<Long> ids) {
-        return contentRepository.findByIdIn(ids);
+        ContentBatchLoadEvent event = new ContentBatchLoadEvent();
+        event.begin();
+        event.idsCount = ids.size();
+        try {
+            popularityTracker.record(ids);
+            List<Content> contents = contentLoadCoordinator.loadAll(ids, this::findCached, this::loadThroughCache);
+            event.resultSize = contents.size();
+            return contents;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Multi-id load that serves cached entities from the second-level cache and queries only the rest,
+     * unlike {@code findByIdIn}, which always runs the query.
+     */
+    private List<Content> loadThroughCache(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Content.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Returns the contents held in the second-level cache, never querying the database, so that only actual
+     * misses go through the coordinated load. Ids the region does not hold are skipped, and the rest are read with
+     * {@link CacheMode#GET}; one evicted in between is loaded directly, as it would have been without coordination.
+     */
+    private List<Content> findCached(List<Long> ids) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        List<Long> cachedIds = ids.stream()
+                .filter(id -> cache.contains(Content.class, id))
+                .toList();
+        if (cachedIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Content.class)
+                .with(CacheMode.GET)
+                .multiLoad(cachedIds)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Optional<Content> reloadIntoCache(Content cached) {
+        Session session = entityManager.unwrap(Session.class);
+        // Otherwise find() would return the managed cached copy instead of reading the row.
+        session.detach(cached);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.REFRESH);
+        try {
+            return Optional.ofNullable(session.find(Content.class, cached.getId()));
+        } finally {
+            session.setCacheMode(previous);
+        }
+    }
+
+    /**
+     * Pages through content ids in ascending order, for consumers that keep a local set of valid ids.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getContentIdsAfter(long afterId, int limit) {
+        return contentRepository.findIdsAfter(afterId, Limit.of(limit));
     }
 }
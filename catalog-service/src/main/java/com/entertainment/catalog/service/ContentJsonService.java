@@ -0,0 +1,73 @@
+package com.entertainment.catalog.service;
+
+import com.entertainment.catalog.cache.ContentJsonCache;
+import com.entertainment.catalog.cache.ContentPopularityTracker;
+import com.entertainment.catalog.domain.Content;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Serves content as pre-encoded JSON. Cache hits never reach {@link CatalogService}, so they skip the
+ * transaction, the L2 lookup and Jackson entirely; only missing ids are loaded and encoded.
+ */
+@Service
+@RequiredArgsConstructor
+public class ContentJsonService {
+
+    private final CatalogService catalogService;
+    private final ContentJsonCache contentJsonCache;
+    private final ContentPopularityTracker popularityTracker;
+
+    public Optional<byte[]> getContentJson(Long id) {
+        byte[] cached = contentJsonCache.get(id);
+        if (cached != null) {
+            popularityTracker.record(id);
+            return Optional.of(cached);
+        }
+        long generation = contentJsonCache.generation(id);
+        return catalogService.getContent(id).map(content -> contentJsonCache.encode(content, generation));
+    }
+
+    /**
+     * @return one JSON fragment per existing content, in the order the ids were requested
+     */
+    public List<byte[]> getContentJsonBatch(List<Long> ids) {
+        LinkedHashSet<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, byte[]> fragments = new HashMap<>(requested.size() * 2);
+        Map<Long, Long> missing = new LinkedHashMap<>();
+        List<Long> hits = new ArrayList<>();
+        for (Long id : requested) {
+            byte[] cached = contentJsonCache.get(id);
+            if (cached != null) {
+                fragments.put(id, cached);
+                hits.add(id);
+            } else {
+                missing.put(id, contentJsonCache.generation(id));
+            }
+        }
+        popularityTracker.record(hits);
+
+        if (!missing.isEmpty()) {
+            for (Content content : catalogService.getContentByIds(new ArrayList<>(missing.keySet()))) {
+                fragments.put(content.getId(), contentJsonCache.encode(content, missing.get(content.getId())));
+            }
+        }
+
+        List<byte[]> ordered = new ArrayList<>(fragments.size());
+        for (Long id : requested) {
+            byte[] fragment = fragments.get(id);
+            if (fragment != null) {
+                ordered.add(fragment);
+            }
+        }
+        return ordered;
+    }
+}
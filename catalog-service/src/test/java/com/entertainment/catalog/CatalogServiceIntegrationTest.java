@@ -154,4 +154,101 @@ class CatalogServiceIntegrationTest {
                 .andExpect(jsonPath("$[?(@.title == 'Movie 1')]").exists())
                 .andExpect(jsonPath("$[?(@.title == 'Movie 2')]").exists());
     }
+
+    @Test
+    void shouldPageThroughContentIds() throws Exception {
+        Content first = contentRepository.save(Content.builder().title("Movie 1").type(ContentType.MOVIE).build());
+        Content second = contentRepository.save(Content.builder().title("Movie 2").type(ContentType.MOVIE).build());
+        Content third = contentRepository.save(Content.builder().title("Movie 3").type(ContentType.MOVIE).build());
+
+        mockMvc.perform(get("/api/catalog/ids")
+                        .param("afterId", String.valueOf(first.getId() - 1))
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value(first.getId()))
+                .andExpect(jsonPath("$[1]").value(second.getId()));
+
+        mockMvc.perform(get("/api/catalog/ids")
+                        .param("afterId", second.getId().toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0]").value(third.getId()));
+
+        mockMvc.perform(get("/api/catalog/ids").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldImportNdjsonCatalogFeed() throws Exception {
+        String feed = """
+                {"title":"Imported 1","type":"MOVIE","durationMinutes":100,"genre":"ACTION"}
+                {"title":"Imported 2","type":"series","durationMinutes":45}
+                {"title":"","type":"MOVIE"}
+                {"title":"Imported 3","type":"PODCAST"}
+                null
+                """;
+
+        mockMvc.perform(post("/api/catalog/import")
+                        .contentType("application/x-ndjson")
+                        .content(feed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(3))
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[2]").value("line 5: expected a JSON object"));
+
+        List<Content> contents = contentRepository.findAll();
+        assertThat(contents).extracting(Content::getTitle).containsExactlyInAnyOrder("Imported 1", "Imported 2");
+        assertThat(contents).allSatisfy(content -> assertThat(content.getPublishedAt()).isNotNull());
+
+        Content created = contentRepository.save(Content.builder()
+                .title("After Import")
+                .type(ContentType.MOVIE)
+                .build());
+        assertThat(created.getId()).isGreaterThan(contents.stream().mapToLong(Content::getId).max().orElseThrow());
+    }
+
+    @Test
+    void shouldImportCsvCatalogFeed() throws Exception {
+        String feed = """
+                title,type,durationMinutes,genre
+                "Heat, Director's Cut",MOVIE,170,CRIME
+                "The \"\"Office\"\"",SERIES,22,
+                "Two
+                Lines",MOVIE,95,DRAMA
+                """;
+
+        mockMvc.perform(post("/api/catalog/import")
+                        .contentType("text/csv")
+                        .content(feed))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        assertThat(contentRepository.findAll())
+                .extracting(Content::getTitle)
+                .containsExactlyInAnyOrder("Heat, Director's Cut", "The \"Office\"", "Two\nLines");
+    }
+
+    @Test
+    void shouldRejectCsvFeedWithUnbalancedQuotes() throws Exception {
+        mockMvc.perform(post("/api/catalog/import")
+                        .contentType("text/csv")
+                        .content("title,type\n\"Heat,MOVIE\nRonin,MOVIE\n"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(contentRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectCsvFeedWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(post("/api/catalog/import")
+                        .contentType("text/csv")
+                        .content("name,genre\nHeat,CRIME\n"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(contentRepository.findAll()).isEmpty();
+    }
 }
@@ -1,8 +1,11 @@
 package com.entertainment.catalog;
 
+import com.entertainment.catalog.cache.CacheWarmer;
 import com.entertainment.catalog.domain.Content;
 import com.entertainment.catalog.domain.ContentType;
+import com.entertainment.catalog.domain.HotContent;
 import com.entertainment.catalog.repository.ContentRepository;
+import com.entertainment.catalog.repository.HotContentRepository;
 import jakarta.persistence.EntityManagerFactory;
 import org.hibernate.SessionFactory;
 import org.hibernate.stat.Statistics;
@@ -19,6 +22,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -49,6 +54,12 @@ class L2CacheIntegrationTest {
     @Autowired
     private TransactionTemplate transactionTemplate;
 
+    @Autowired
+    private HotContentRepository hotContentRepository;
+
+    @Autowired
+    private CacheWarmer cacheWarmer;
+
     private Statistics getStatistics() {
         return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
@@ -56,6 +67,7 @@ class L2CacheIntegrationTest {
     @BeforeEach
     void setUp() {
         contentRepository.deleteAll();
+        hotContentRepository.deleteAll();
         getStatistics().clear();
     }
 
@@ -112,4 +124,28 @@ class L2CacheIntegrationTest {
         assertThat(sessionFactory.getCache()).isNotNull();
         assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
     }
+
+    @Test
+    void shouldWarmCacheFromPopularitySnapshot() {
+        Long contentId = contentRepository.save(Content.builder()
+                .title("Hot Movie")
+                .type(ContentType.MOVIE)
+                .durationMinutes(95)
+                .genre("THRILLER")
+                .build()).getId();
+        hotContentRepository.save(HotContent.builder()
+                .contentId(contentId)
+                .score(42L)
+                .capturedAt(LocalDateTime.now())
+                .build());
+        entityManagerFactory.getCache().evictAll();
+
+        cacheWarmer.warmUp();
+
+        assertThat(cacheWarmer.getState()).isEqualTo(CacheWarmer.State.COMPLETED);
+        assertThat(cacheWarmer.getLoaded()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(Content.class, contentId))
+                .as("Hot content should be preloaded into the L2 region")
+                .isTrue();
+    }
 }
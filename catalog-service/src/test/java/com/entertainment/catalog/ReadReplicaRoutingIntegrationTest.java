@@ -0,0 +1,80 @@
+package com.entertainment.catalog;
+
+import com.entertainment.catalog.domain.Content;
+import com.entertainment.catalog.domain.ContentType;
+import com.entertainment.catalog.service.CatalogService;
+import com.entertainment.support.datasource.ReadRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses two independent Postgres instances as primary and replica, so the rows each query sees reveal where
+ * it was routed.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-schema.sql");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-replica-schema.sql");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("datasource.read-replicas.replicas[0].url", replica::getJdbcUrl);
+        registry.add("datasource.read-replicas.replicas[0].username", replica::getUsername);
+        registry.add("datasource.read-replicas.replicas[0].password", replica::getPassword);
+    }
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        catalogService.createContent(Content.builder()
+                .title("Primary Only")
+                .type(ContentType.MOVIE)
+                .durationMinutes(100)
+                .build());
+
+        assertThat(catalogService.getAllContent())
+                .extracting(Content::getTitle)
+                .containsExactly("Replica Only");
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenPinned() {
+        Content created = catalogService.createContent(Content.builder()
+                .title("Pinned Read")
+                .type(ContentType.SERIES)
+                .durationMinutes(30)
+                .build());
+
+        assertThat(ReadRouting.onPrimary(() -> catalogService.getContent(created.getId())))
+                .hasValueSatisfying(content -> assertThat(content.getTitle()).isEqualTo("Pinned Read"));
+    }
+}
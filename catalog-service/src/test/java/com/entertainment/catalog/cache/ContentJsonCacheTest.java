@@ -0,0 +1,92 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.entertainment.catalog.domain.ContentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentJsonCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ContentJsonCache cache =
+            new ContentJsonCache(objectMapper, meterRegistry, true, 1 << 20, Duration.ofMinutes(1));
+
+    @Test
+    void shouldServeTheSameBytesJacksonWouldProduce() throws Exception {
+        Content content = content(1L, "The \"Quoted\" Title");
+
+        byte[] encoded = cache.encode(content, cache.generation(1L));
+
+        assertThat(encoded).isEqualTo(objectMapper.writeValueAsBytes(content));
+        assertThat(cache.get(1L)).isSameAs(encoded);
+        assertThat(cache.get(2L)).isNull();
+        assertThat(meterRegistry.get("catalog.json.bytes.served").tag("source", "cache").counter().count())
+                .isEqualTo(encoded.length);
+    }
+
+    @Test
+    void shouldSpliceFragmentsIntoAJsonArray() throws Exception {
+        List<Content> contents = List.of(content(1L, "First"), content(2L, "Second"), content(3L, "Third"));
+        List<byte[]> fragments = contents.stream().map(content -> cache.encode(content, 0)).toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ContentJsonCache.writeArray(fragments, out);
+
+        assertThat(out.toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(contents));
+        assertThat(ContentJsonCache.arrayLength(fragments)).isEqualTo(out.size());
+    }
+
+    @Test
+    void shouldWriteEmptyArrayForNoFragments() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ContentJsonCache.writeArray(List.of(), out);
+
+        assertThat(out.toString()).isEqualTo("[]");
+        assertThat(ContentJsonCache.arrayLength(List.of())).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDropInvalidatedEntries() {
+        cache.encode(content(1L, "First"), cache.generation(1L));
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void shouldNotCacheContentLoadedBeforeAnInvalidation() {
+        long generation = cache.generation(1L);
+        Content loadedBeforeUpdate = content(1L, "Old Title");
+
+        cache.invalidate(1L);
+        byte[] encoded = cache.encode(loadedBeforeUpdate, generation);
+
+        assertThat(encoded).isNotNull();
+        assertThat(cache.get(1L)).isNull();
+        cache.encode(content(1L, "New Title"), cache.generation(1L));
+        assertThat(new String(cache.get(1L))).contains("New Title");
+    }
+
+    private static Content content(Long id, String title) {
+        return Content.builder()
+                .id(id)
+                .title(title)
+                .type(ContentType.SERIES)
+                .durationMinutes(45)
+                .genre("DRAMA")
+                .publishedAt(LocalDateTime.of(2024, 5, 1, 10, 30))
+                .build();
+    }
+}
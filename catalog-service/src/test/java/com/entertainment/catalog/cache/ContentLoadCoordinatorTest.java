@@ -0,0 +1,270 @@
+package com.entertainment.catalog.cache;
+
+import com.entertainment.catalog.domain.Content;
+import com.entertainment.catalog.domain.ContentType;
+import com.hazelcast.cluster.Cluster;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.LifecycleService;
+import com.hazelcast.hibernate.AbstractHazelcastCacheRegionFactory;
+import com.hazelcast.map.IMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentLoadCoordinatorTest {
+
+    private static final int CALLERS = 8;
+    private static final Function<List<Long>, List<Content>> NOTHING_CACHED = ids -> List.of();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        ContentLoadCoordinator coordinator = coordinator(false, Duration.ofMinutes(10));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch waiters = new CountDownLatch(CALLERS - 1);
+        coordinator.onWait(id -> waiters.countDown());
+
+        List<Future<Optional<Content>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> coordinator.load(1L, Optional::empty, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return Optional.of(content(1L));
+            }, Optional::of)));
+        }
+        assertThat(waiters.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        for (Future<Optional<Content>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).map(Content::getId).contains(1L);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(loadCount("leader")).isEqualTo(1);
+        assertThat(loadCount("collapsed")).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void shouldServeCachedContentWithoutCoordinating() {
+        ContentLoadCoordinator coordinator = coordinator(false, Duration.ofMinutes(10));
+        List<List<Long>> loaderCalls = new ArrayList<>();
+
+        Optional<Content> single = coordinator.load(1L, () -> Optional.of(content(1L)), () -> {
+            throw new AssertionError("a cache hit must not be loaded again");
+        }, Optional::of);
+        List<Content> batch = coordinator.loadAll(List.of(2L, 1L), ids -> List.of(content(1L)), ids -> {
+            loaderCalls.add(ids);
+            return ids.stream().map(ContentLoadCoordinatorTest::content).toList();
+        });
+
+        assertThat(single).map(Content::getId).contains(1L);
+        assertThat(batch).extracting(Content::getId).containsExactly(2L, 1L);
+        assertThat(loaderCalls).containsExactly(List.of(2L));
+        assertThat(loadCount("leader")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareInFlightLoadsAcrossBatches() throws Exception {
+        ContentLoadCoordinator coordinator = coordinator(false, Duration.ofMinutes(10));
+        List<List<Long>> loaderCalls = new CopyOnWriteArrayList<>();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch waiting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        coordinator.onWait(id -> waiting.countDown());
+
+        Future<List<Content>> first = executor.submit(() -> coordinator.loadAll(List.of(1L, 2L), NOTHING_CACHED, ids -> {
+            loaderCalls.add(ids);
+            loading.countDown();
+            await(release);
+            return ids.stream().map(ContentLoadCoordinatorTest::content).toList();
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<List<Content>> second = executor.submit(() -> coordinator.loadAll(List.of(3L, 2L), NOTHING_CACHED, ids -> {
+            loaderCalls.add(ids);
+            return ids.stream().map(ContentLoadCoordinatorTest::content).toList();
+        }));
+        assertThat(waiting.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).extracting(Content::getId).containsExactly(1L, 2L);
+        assertThat(second.get(5, TimeUnit.SECONDS)).extracting(Content::getId).containsExactly(3L, 2L);
+        assertThat(loaderCalls).containsExactlyInAnyOrder(List.of(1L, 2L), List.of(3L));
+        assertThat(loadCount("collapsed")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadDirectlyWhenTheLeaderTimesOut() throws Exception {
+        ContentLoadCoordinator coordinator = new ContentLoadCoordinator(mock(EntityManagerFactory.class), meterRegistry,
+                true, Duration.ofMillis(50), false, false, Duration.ofMinutes(10), 1.0, 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Optional<Content>> slow = executor.submit(() -> coordinator.load(1L, Optional::empty, () -> {
+            loading.countDown();
+            await(release);
+            return Optional.of(content(1L));
+        }, Optional::of));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Optional<Content> fallback = coordinator.load(1L, Optional::empty, () -> Optional.of(content(1L)), Optional::of);
+        release.countDown();
+
+        assertThat(fallback).isPresent();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(loadCount("fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshCachedEntriesThatAreAboutToExpire() {
+        ContentLoadCoordinator coordinator = coordinator(true, Duration.ZERO);
+        List<Content> refreshed = new ArrayList<>();
+        Content cached = content(1L);
+
+        coordinator.load(1L, Optional::empty, () -> Optional.of(content(1L)), Optional::of);
+        coordinator.load(1L, () -> Optional.of(cached), Optional::empty, stale -> {
+            refreshed.add(stale);
+            return Optional.of(content(1L));
+        });
+
+        assertThat(refreshed).containsExactly(cached);
+        assertThat(meterRegistry.get("catalog.content.early.refreshes").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldHoldClusterLocksInIdOrderWhileLoadingMisses() throws Exception {
+        IMap<Long, Boolean> locks = mock(IMap.class);
+        when(locks.tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(true);
+        when(locks.tryLock(eq(2L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(false);
+        ContentLoadCoordinator coordinator = new ContentLoadCoordinator(clusteredEntityManagerFactory(locks),
+                meterRegistry, true, Duration.ofSeconds(5), true, false, Duration.ofMinutes(10), 1.0, 100);
+        Function<List<Long>, List<Content>> loader = mock(Function.class);
+        when(loader.apply(List.of(3L, 1L, 2L))).thenReturn(List.of(content(1L), content(2L), content(3L)));
+
+        List<Content> contents = coordinator.loadAll(List.of(3L, 1L, 2L), NOTHING_CACHED, loader);
+
+        assertThat(contents).extracting(Content::getId).containsExactly(3L, 1L, 2L);
+        InOrder inOrder = inOrder(locks, loader);
+        inOrder.verify(locks).tryLock(eq(1L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify(locks).tryLock(eq(2L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify(locks).tryLock(eq(3L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS));
+        inOrder.verify(loader).apply(List.of(3L, 1L, 2L));
+        inOrder.verify(locks).unlock(1L);
+        inOrder.verify(locks).unlock(3L);
+        verify(locks, never()).unlock(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldShareOneLockDeadlineAcrossTheBatch() throws Exception {
+        IMap<Long, Boolean> locks = mock(IMap.class);
+        // Id 1 is held elsewhere: the attempt blocks for its whole timeout and fails.
+        when(locks.tryLock(eq(1L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenAnswer(invocation -> {
+                    TimeUnit.MILLISECONDS.sleep(invocation.<Long>getArgument(1));
+                    return false;
+                });
+        when(locks.tryLock(eq(2L), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(true);
+        ContentLoadCoordinator coordinator = new ContentLoadCoordinator(clusteredEntityManagerFactory(locks),
+                meterRegistry, true, Duration.ofMillis(100), true, false, Duration.ofMinutes(10), 1.0, 100);
+
+        coordinator.loadAll(List.of(1L, 2L), NOTHING_CACHED, ids -> ids.stream().map(ContentLoadCoordinatorTest::content).toList());
+
+        verify(locks).tryLock(eq(1L), longThat(timeout -> timeout > 0 && timeout <= 100), eq(TimeUnit.MILLISECONDS),
+                anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(locks).tryLock(eq(2L), eq(0L), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldNotTakeClusterLocksForCacheHits() throws Exception {
+        IMap<Long, Boolean> locks = mock(IMap.class);
+        ContentLoadCoordinator coordinator = new ContentLoadCoordinator(clusteredEntityManagerFactory(locks),
+                meterRegistry, true, Duration.ofSeconds(5), true, false, Duration.ofMinutes(10), 1.0, 100);
+
+        coordinator.load(1L, () -> Optional.of(content(1L)), Optional::empty, Optional::of);
+
+        verify(locks, never()).tryLock(anyLong(), anyLong(), eq(TimeUnit.MILLISECONDS), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    private ContentLoadCoordinator coordinator(boolean earlyRefresh, Duration ttl) {
+        return new ContentLoadCoordinator(mock(EntityManagerFactory.class), meterRegistry,
+                true, Duration.ofSeconds(5), false, earlyRefresh, ttl, 1.0, 100);
+    }
+
+    private static EntityManagerFactory clusteredEntityManagerFactory(IMap<Long, Boolean> locks) {
+        HazelcastInstance hazelcast = mock(HazelcastInstance.class);
+        LifecycleService lifecycle = mock(LifecycleService.class);
+        Cluster cluster = mock(Cluster.class);
+        when(hazelcast.getLifecycleService()).thenReturn(lifecycle);
+        when(lifecycle.isRunning()).thenReturn(true);
+        when(hazelcast.getCluster()).thenReturn(cluster);
+        when(cluster.getMembers()).thenReturn(Set.of(mock(Member.class), mock(Member.class)));
+        when(hazelcast.<Long, Boolean>getMap("catalog-content-loads")).thenReturn(locks);
+
+        AbstractHazelcastCacheRegionFactory regionFactory = mock(AbstractHazelcastCacheRegionFactory.class);
+        when(regionFactory.getHazelcastInstance()).thenReturn(hazelcast);
+        CacheImplementor cache = mock(CacheImplementor.class);
+        when(cache.getRegionFactory()).thenReturn(regionFactory);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        return entityManagerFactory;
+    }
+
+    private double loadCount(String outcome) {
+        return meterRegistry.get("catalog.content.loads").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Content content(Long id) {
+        return Content.builder().id(id).title("Title " + id).type(ContentType.MOVIE).build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.entertainment.catalog.controller;
+
+import com.entertainment.catalog.service.CatalogImportService;
+import com.entertainment.catalog.service.CatalogImportService.ImportFormat;
+import com.entertainment.catalog.service.CatalogImportService.ImportResult;
+import com.entertainment.catalog.service.CatalogService;
+import com.entertainment.catalog.service.ContentJsonService;
+import com.entertainment.support.concurrency.ConcurrencyLimitAutoConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the limiter filter against the groups in {@code application.yml}: the import group admits two
+ * concurrent imports, so a third is shed while reads keep flowing through their own bulkhead.
+ */
+@WebMvcTest(CatalogController.class)
+@ImportAutoConfiguration({ConcurrencyLimitAutoConfiguration.class, MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class})
+class ConcurrencyLimitTest {
+
+    private static final int IMPORT_LIMIT = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CatalogService catalogService;
+
+    @MockitoBean
+    private CatalogImportService catalogImportService;
+
+    @MockitoBean
+    private ContentJsonService contentJsonService;
+
+    @Test
+    void shouldShedRequestsOverTheGroupLimitWithoutAffectingOtherGroups() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(IMPORT_LIMIT);
+        CountDownLatch release = new CountDownLatch(1);
+        when(catalogImportService.importContent(any(), eq(ImportFormat.NDJSON))).thenAnswer(invocation -> {
+            admitted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new ImportResult(0, 0, List.of(), 0, 0);
+        });
+        when(contentJsonService.getContentJson(1L)).thenReturn(Optional.of("{\"id\":1}".getBytes()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(IMPORT_LIMIT);
+        try {
+            List<Future<MvcResult>> inFlight = new ArrayList<>();
+            for (int i = 0; i < IMPORT_LIMIT; i++) {
+                inFlight.add(executor.submit(() -> mockMvc.perform(importRequest()).andReturn()));
+            }
+            assertThat(admitted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.perform(importRequest())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            mockMvc.perform(get("/api/catalog/1"))
+                    .andExpect(status().isOk());
+
+            release.countDown();
+            for (Future<MvcResult> request : inFlight) {
+                assertThat(request.get(10, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(200);
+            }
+            mockMvc.perform(importRequest())
+                    .andExpect(status().isOk());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static RequestBuilder importRequest() {
+        return post("/api/catalog/import")
+                .contentType("application/x-ndjson")
+                .content("{\"title\":\"Imported\",\"type\":\"MOVIE\"}\n");
+    }
+}
@@ -0,0 +1,25 @@
+package com.entertainment.catalog.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogImportServiceTest {
+
+    @Test
+    void shouldDetectRecordsThatContinueOnTheNextLine() {
+        assertThat(CatalogImportService.hasOpenQuote("\"Two")).isTrue();
+        assertThat(CatalogImportService.hasOpenQuote("\"Two\nLines\",MOVIE")).isFalse();
+        assertThat(CatalogImportService.hasOpenQuote("\"The \"\"Office\"\"\",SERIES")).isFalse();
+        assertThat(CatalogImportService.hasOpenQuote("Heat,MOVIE")).isFalse();
+    }
+
+    @Test
+    void shouldSplitQuotedFieldsWithLineBreaksCommasAndQuotes() {
+        assertThat(CatalogImportService.splitCsv("\"Two\nLines\",\"a, \"\"b\"\"\",,DRAMA"))
+                .containsExactly("Two\nLines", "a, \"b\"", "", "DRAMA");
+        assertThatThrownBy(() -> CatalogImportService.splitCsv("\"Heat,MOVIE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,13 @@
+CREATE SCHEMA IF NOT EXISTS catalog_db;
+
+CREATE TABLE catalog_db.content (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title            VARCHAR(255) NOT NULL,
+    type             VARCHAR(255) NOT NULL,
+    duration_minutes INTEGER,
+    genre            VARCHAR(255),
+    published_at     TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO catalog_db.content (title, type, duration_minutes, genre, published_at)
+VALUES ('Replica Only', 'MOVIE', 90, 'DRAMA', now());
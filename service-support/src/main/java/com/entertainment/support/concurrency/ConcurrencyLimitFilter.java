@@ -0,0 +1,97 @@
+package com.entertainment.support.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Admits each request into its endpoint group's limiter and sheds it with a fast {@code 503} when the
+ * group is at its limit, instead of letting it queue for a Tomcat thread or a pooled connection.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final List<Bulkhead> bulkheads;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.bulkheads = properties.groups().stream()
+                .map(group -> new Bulkhead(group, meterRegistry))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = resolve(request);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.limiter.tryAcquire()) {
+            bulkhead.rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Concurrency limit reached");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            bulkhead.limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private Bulkhead resolve(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Bulkhead bulkhead : bulkheads) {
+            if (bulkhead.matches(request.getMethod(), path)) {
+                return bulkhead;
+            }
+        }
+        return null;
+    }
+
+    private static final class Bulkhead {
+
+        private final List<String> methods;
+        private final PathPattern pathPattern;
+        private final AimdLimiter limiter;
+        private final Counter rejected;
+
+        private Bulkhead(ConcurrencyLimitProperties.Group group, MeterRegistry meterRegistry) {
+            this.methods = group.methods();
+            this.pathPattern = PathPatternParser.defaultInstance.parse(group.pathPattern());
+            this.limiter = new AimdLimiter(group.initialLimit(), group.minLimit(), group.maxLimit(),
+                    group.slowCallThreshold().toNanos(), group.backoffRatio());
+            this.rejected = Counter.builder("http.concurrency.rejected")
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.limit", limiter, AimdLimiter::getLimit)
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limiter, AimdLimiter::getInFlight)
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+        }
+
+        private boolean matches(String method, PathContainer path) {
+            return (methods == null || methods.isEmpty() || methods.contains(method))
+                    && pathPattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.entertainment.support.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Endpoint groups that each get their own adaptive limit, so saturation in one group cannot starve another.
+ */
+@ConfigurationProperties("concurrency-limits")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue List<Group> groups
+) {
+
+    public record Group(
+            String name,
+            List<String> methods,
+            String pathPattern,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("500ms") Duration slowCallThreshold,
+            @DefaultValue("0.9") double backoffRatio
+    ) {}
+}
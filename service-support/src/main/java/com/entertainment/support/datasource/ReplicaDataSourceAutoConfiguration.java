@@ -0,0 +1,73 @@
+package com.entertainment.support.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends read-only transactions to the replica pools. The physical connection is fetched lazily, after the
+ * transaction's read-only flag is known, so {@code @Transactional(readOnly = true)} alone selects the replica.
+ * A service that routes connections some other way declares its own {@code dataSource} bean and still gets the
+ * primary and replica pools from here.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({HikariDataSource.class, LazyConnectionDataSourceProxy.class})
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaDataSourceProperties.class})
+public class ReplicaDataSourceAutoConfiguration {
+
+    /**
+     * Built from {@code spring.datasource.*} like Boot's own pool, then bound to {@code spring.datasource.hikari.*}
+     * so pool sizing and timeouts still apply to the primary.
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPools replicaPools(ReplicaDataSourceProperties properties,
+                                     DataSourceProperties dataSourceProperties,
+                                     MeterRegistry meterRegistry) {
+        return new ReplicaPools(properties, dataSourceProperties.determineDriverClassName(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "")
+    @Primary
+    @ConditionalOnMissingBean(name = "dataSource")
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPools replicaPools, MeterRegistry meterRegistry) {
+        return replicaRouting(primaryDataSource, replicaPools, meterRegistry);
+    }
+
+    /**
+     * The primary alone when no replicas are configured, otherwise a proxy that hands read-only connections to
+     * the healthiest replica.
+     */
+    public static DataSource replicaRouting(HikariDataSource primaryDataSource, ReplicaPools replicaPools,
+                                            MeterRegistry meterRegistry) {
+        if (replicaPools.replicas().isEmpty()) {
+            return primaryDataSource;
+        }
+        replicaPools.refreshLag();
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaPools, meterRegistry));
+        return proxy;
+    }
+}
@@ -0,0 +1,21 @@
+package com.entertainment.support.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas that serve {@code @Transactional(readOnly = true)} work. With no replicas configured the
+ * primary datasource is used for everything.
+ */
+@ConfigurationProperties("datasource.read-replicas")
+public record ReplicaDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("10") int maximumPoolSize
+) {
+
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,134 @@
+package com.entertainment.support.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the replica connection pools and tracks which replicas are within the allowed replication lag.
+ */
+@Slf4j
+public class ReplicaPools implements AutoCloseable {
+
+    /**
+     * Replay lag in milliseconds, or -1 when it cannot be trusted. Receive LSN equal to replay LSN only means the
+     * replica has applied everything it received, so a replica whose WAL receiver is gone or not streaming reports
+     * -1 rather than 0. Roles without {@code pg_read_all_stats} see a null status, and only the row's presence counts.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming') THEN -1
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, -1)
+            END::bigint
+            """;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPools(ReplicaDataSourceProperties properties, String driverClassName, MeterRegistry meterRegistry) {
+        this.maxLagMillis = properties.maxLag().toMillis();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica config = properties.replicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(config.url());
+            pool.setUsername(config.username());
+            pool.setPassword(config.password());
+            pool.setDriverClassName(driverClassName);
+            pool.setMaximumPoolSize(properties.maximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            Replica replica = new Replica(pool.getPoolName(), pool);
+            replicas.add(replica);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagMillis)
+                    .baseUnit("milliseconds")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Picks the next replica that is within the lag budget, round-robin.
+     */
+    public Optional<Replica> nextHealthy() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.read-replicas.lag-check-interval-ms:2000}")
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+                replica.healthy = replica.lagMillis >= 0 && replica.lagMillis <= maxLagMillis;
+            } catch (Exception e) {
+                replica.healthy = false;
+                log.debug("Lag check failed for {}", replica.name, e);
+            }
+            if (wasHealthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {} ms)",
+                        replica.name, replica.healthy ? "in rotation" : "out of rotation", replica.lagMillis);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
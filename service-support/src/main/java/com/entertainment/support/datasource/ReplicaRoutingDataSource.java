@@ -0,0 +1,49 @@
+package com.entertainment.support.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Target for read-only connections: a healthy replica when one is available, otherwise the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaPools replicaPools;
+    private final Map<String, Counter> routedConnections = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaPools replicaPools, MeterRegistry meterRegistry) {
+        this.replicaPools = replicaPools;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        routedConnections.put(PRIMARY, routedCounter(meterRegistry, PRIMARY));
+        for (ReplicaPools.Replica replica : replicaPools.replicas()) {
+            targets.put(replica.name(), replica.dataSource());
+            routedConnections.put(replica.name(), routedCounter(meterRegistry, replica.name()));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = ReadRouting.isPrimaryRequired()
+                ? PRIMARY
+                : replicaPools.nextHealthy().map(ReplicaPools.Replica::name).orElse(PRIMARY);
+        routedConnections.get(target).increment();
+        return target;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing.read.connections")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,175 @@
+package com.entertainment.support.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@code /actuator/jfr}: time-boxed Java Flight Recorder recordings on a live instance.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr {"duration": "2m", "settings": "profile"}} starts a recording</li>
+ *     <li>{@code POST /actuator/jfr/{id}} stops it early</li>
+ *     <li>{@code GET /actuator/jfr/{id}} downloads the {@code .jfr} data recorded so far</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}} discards it</li>
+ * </ul>
+ * Recordings always stop on their own after {@code profiling.jfr.max-duration} at the latest, and only a bounded
+ * number are retained; the oldest stopped recording is discarded to make room for a new one.
+ * <p>
+ * Recordings expose heap contents, thread names and SQL in stack frames, so the endpoint is off unless
+ * {@code management.endpoint.jfr.access} is set and it is exposed on a secured management port. Events that
+ * capture the environment, system properties, JVM arguments or process command lines are always disabled,
+ * as those routinely carry credentials.
+ */
+@Endpoint(id = "jfr", defaultAccess = Access.NONE)
+@Slf4j
+public class JfrEndpoint {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    static final Set<String> SENSITIVE_EVENTS = Set.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess",
+            "jdk.ProcessStart");
+
+    private final Map<Long, Recording> recordings = new ConcurrentSkipListMap<>();
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final int maxRecordings;
+    private final DataSize maxSize;
+
+    public JfrEndpoint(Duration defaultDuration, Duration maxDuration, int maxRecordings, DataSize maxSize) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxRecordings = maxRecordings;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream().map(RecordingInfo::of).toList();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Object> start(@Nullable Duration duration, @Nullable String settings) {
+        Duration requested = duration != null ? duration : defaultDuration;
+        String configurationName = settings != null ? settings : "default";
+        if (requested.isNegative() || requested.isZero() || requested.compareTo(maxDuration) > 0) {
+            return badRequest("duration must be positive and at most " + maxDuration);
+        }
+        if (!SETTINGS.contains(configurationName)) {
+            return badRequest("settings must be one of " + SETTINGS);
+        }
+        if (!makeRoom()) {
+            return new WebEndpointResponse<>(
+                    Map.of("error", "at most " + maxRecordings + " recordings may be retained"),
+                    WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+
+        Map<String, String> eventSettings;
+        try {
+            eventSettings = new HashMap<>(Configuration.getConfiguration(configurationName).getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR configuration " + configurationName, e);
+        }
+        SENSITIVE_EVENTS.forEach(event -> eventSettings.put(event + "#enabled", "false"));
+        Recording recording = new Recording(eventSettings);
+        recording.setName("actuator-" + configurationName);
+        recording.setToDisk(true);
+        recording.setDuration(requested);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        log.info("Started JFR recording {} with {} settings for {}", recording.getId(), configurationName, requested);
+        return new WebEndpointResponse<>(RecordingInfo.of(recording), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return null;
+        }
+        InputStream stream = recording.getStream(null, null);
+        return stream != null ? new InputStreamResource(stream) : null;
+    }
+
+    @WriteOperation
+    public RecordingInfo stop(@Selector long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return RecordingInfo.of(recording);
+    }
+
+    @DeleteOperation
+    public RecordingInfo discard(@Selector long id) {
+        Recording recording = recordings.remove(id);
+        if (recording == null) {
+            return null;
+        }
+        RecordingInfo info = RecordingInfo.of(recording);
+        recording.close();
+        return info;
+    }
+
+    @PreDestroy
+    void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    private boolean makeRoom() {
+        Iterator<Recording> oldestFirst = recordings.values().iterator();
+        while (recordings.size() >= maxRecordings && oldestFirst.hasNext()) {
+            Recording recording = oldestFirst.next();
+            if (recording.getState() != RecordingState.RUNNING && recording.getState() != RecordingState.DELAYED) {
+                oldestFirst.remove();
+                recording.close();
+            }
+        }
+        return recordings.size() < maxRecordings;
+    }
+
+    private static WebEndpointResponse<Object> badRequest(String message) {
+        return new WebEndpointResponse<>(Map.of("error", message), WebEndpointResponse.STATUS_BAD_REQUEST);
+    }
+
+    public record RecordingInfo(long id, String name, String state, Instant startTime, Duration duration, long size) {
+
+        static RecordingInfo of(Recording recording) {
+            return new RecordingInfo(recording.getId(), recording.getName(), recording.getState().name(),
+                    recording.getStartTime(), recording.getDuration(), recording.getSize());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.entertainment.support.profiling;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@ConditionalOnAvailableEndpoint(JfrEndpoint.class)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrEndpointAutoConfiguration {
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrProperties properties) {
+        return new JfrEndpoint(properties.defaultDuration(), properties.maxDuration(), properties.maxRecordings(),
+                properties.maxSize());
+    }
+}
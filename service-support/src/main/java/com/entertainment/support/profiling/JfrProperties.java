@@ -0,0 +1,18 @@
+package com.entertainment.support.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Bounds for recordings started through {@link JfrEndpoint}.
+ */
+@ConfigurationProperties("profiling.jfr")
+public record JfrProperties(
+        @DefaultValue("60s") Duration defaultDuration,
+        @DefaultValue("10m") Duration maxDuration,
+        @DefaultValue("3") int maxRecordings,
+        @DefaultValue("256MB") DataSize maxSize
+) {}
@@ -0,0 +1,58 @@
+package com.entertainment.support.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long SLOW_CALL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void shouldRejectWhenLimitReached() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, SLOW_CALL_NANOS, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBackOffOnSlowOrFailedCalls() {
+        AimdLimiter limiter = new AimdLimiter(8, 2, 10, SLOW_CALL_NANOS, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW_CALL_NANOS * 2, false);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.tryAcquire();
+        limiter.release(1, true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.tryAcquire();
+        limiter.release(1, true);
+        assertThat(limiter.getLimit()).as("limit never drops below the minimum").isEqualTo(2);
+    }
+
+    @Test
+    void shouldGrowOnlyWhileSaturated() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 3, SLOW_CALL_NANOS, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(1, false);
+        }
+        assertThat(limiter.getLimit()).as("one call at a time stops exercising the limit once it passes 2").isEqualTo(2);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(1, false);
+            limiter.release(1, false);
+        }
+        assertThat(limiter.getLimit()).as("growth is capped at the maximum").isEqualTo(3);
+    }
+}
@@ -0,0 +1,54 @@
+package com.entertainment.support.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaDataSourceAutoConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ReplicaDataSourceAutoConfiguration.class))
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:postgresql://localhost:5432/entertainment",
+                    "spring.datasource.hikari.maximum-pool-size=7");
+
+    @Test
+    void shouldUseThePrimaryAloneWithoutReplicas() {
+        runner.run(context -> {
+            HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+            assertThat(primary.getPoolName()).isEqualTo("primary");
+            assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+            assertThat(context.getBean("dataSource")).isSameAs(primary);
+        });
+    }
+
+    @Test
+    void shouldRouteReadsThroughAProxyWhenReplicasAreConfigured() {
+        runner.withPropertyValues("datasource.read-replicas.replicas[0].url=jdbc:postgresql://localhost:1/replica")
+                .run(context -> {
+                    assertThat(context.getBean(ReplicaPools.class).replicas()).hasSize(1);
+                    assertThat(context.getBean("dataSource")).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    assertThat(context.getBean(ReplicaPools.class).nextHealthy()).isEmpty();
+                });
+    }
+
+    @Test
+    void shouldBackOffWhenTheServiceDeclaresItsOwnDataSource() {
+        runner.withBean("dataSource", DataSource.class, SingleConnectionDataSource::new)
+                .run(context -> {
+                    assertThat(context.getBean("dataSource")).isInstanceOf(SingleConnectionDataSource.class);
+                    assertThat(context).hasSingleBean(ReplicaPools.class);
+                    assertThat(context).hasBean("primaryDataSource");
+                });
+    }
+}
@@ -0,0 +1,101 @@
+package com.entertainment.support.profiling;
+
+import com.entertainment.support.profiling.JfrEndpoint.RecordingInfo;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrEndpointTest {
+
+    private final JfrEndpoint endpoint =
+            new JfrEndpoint(Duration.ofMinutes(1), Duration.ofMinutes(5), 1, DataSize.ofMegabytes(32));
+
+    @TempDir
+    Path tempDir;
+
+    @Name("com.entertainment.support.TestQuery")
+    static class TestQueryEvent extends Event {
+        int resultSize;
+    }
+
+    @AfterEach
+    void tearDown() {
+        endpoint.closeAll();
+    }
+
+    @Test
+    void shouldRecordCustomEventsAndServeTheJfrFile() throws Exception {
+        WebEndpointResponse<Object> started = endpoint.start(Duration.ofMinutes(1), "default");
+        assertThat(started.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        RecordingInfo info = (RecordingInfo) started.getBody();
+        assertThat(info.state()).isEqualTo("RUNNING");
+
+        TestQueryEvent event = new TestQueryEvent();
+        event.begin();
+        event.resultSize = 3;
+        event.commit();
+
+        assertThat(endpoint.stop(info.id()).state()).isEqualTo("STOPPED");
+        List<RecordedEvent> events = download(info.id()).stream()
+                .filter(e -> e.getEventType().getName().equals("com.entertainment.support.TestQuery"))
+                .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getInt("resultSize")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotRecordEnvironmentSystemPropertiesOrCommandLines() throws Exception {
+        RecordingInfo info = (RecordingInfo) endpoint.start(Duration.ofMinutes(1), "profile").getBody();
+
+        endpoint.stop(info.id());
+        List<String> recordedTypes = download(info.id()).stream()
+                .map(e -> e.getEventType().getName())
+                .distinct()
+                .toList();
+        assertThat(recordedTypes).isNotEmpty().doesNotContainAnyElementsOf(JfrEndpoint.SENSITIVE_EVENTS);
+    }
+
+    @Test
+    void shouldRejectInvalidRequestsAndBoundRetainedRecordings() throws Exception {
+        assertThat(endpoint.start(Duration.ofHours(1), null).getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+        assertThat(endpoint.start(null, "everything").getStatus())
+                .isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+
+        RecordingInfo first = (RecordingInfo) endpoint.start(null, null).getBody();
+        assertThat(endpoint.start(null, null).getStatus())
+                .as("the running recording must not be evicted")
+                .isEqualTo(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+
+        endpoint.stop(first.id());
+        assertThat(endpoint.start(null, null).getStatus())
+                .as("a stopped recording makes room for a new one")
+                .isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(endpoint.recordings()).hasSize(1);
+        assertThat(endpoint.download(first.id())).isNull();
+    }
+
+    private List<RecordedEvent> download(long id) throws Exception {
+        Resource resource = endpoint.download(id);
+        Path file = tempDir.resolve("recording-" + id + ".jfr");
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
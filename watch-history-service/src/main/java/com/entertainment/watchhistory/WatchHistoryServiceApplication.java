@@ -2,8 +2,10 @@ package com.entertainment.watchhistory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WatchHistoryServiceApplication {
 
     public static void main(String[] args) {
@@ -1,12 +1,18 @@
 package com.entertainment.watchhistory.client;
 
+import com.entertainment.watchhistory.profiling.CatalogBatchFetchEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -15,9 +21,15 @@ public class CatalogServiceClient {
 
     private final RestClient restClient;
 
-    public CatalogServiceClient(@Value("${catalog-service.url}") String catalogServiceUrl) {
+    public CatalogServiceClient(@Value("${catalog-service.url}") String catalogServiceUrl,
+                                @Value("${catalog-service.connect-timeout}") Duration connectTimeout,
+                                @Value("${catalog-service.read-timeout}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
         this.restClient = RestClient.builder()
                 .baseUrl(catalogServiceUrl)
+                .requestFactory(requestFactory)
                 .build();
     }
 
@@ -26,6 +38,9 @@ public class CatalogServiceClient {
             return List.of();
         }
 
+        CatalogBatchFetchEvent event = new CatalogBatchFetchEvent();
+        event.begin();
+        event.idsCount = ids.size();
         try {
             String idsParam = ids.stream()
                     .map(String::valueOf)
@@ -35,10 +50,62 @@ public class CatalogServiceClient {
                     .uri("/api/catalog/batch?ids={ids}", idsParam)
                     .retrieve()
                     .body(new ParameterizedTypeReference<>() {});
-            return response != null ? response : List.of();
+            List<ContentResponse> contents = response != null ? response : List.of();
+            event.resultSize = contents.size();
+            return contents;
         } catch (Exception e) {
+            event.failed = true;
             log.error("Failed to fetch content batch for ids: {}", ids, e);
             return List.of();
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Fetches one page of content ids greater than {@code afterId}, in ascending order.
+     * Unlike the enrichment calls, failures propagate so callers can tell an empty page from an outage.
+     */
+    public List<Long> getContentIdsAfter(long afterId, int limit) {
+        List<Long> response = restClient.get()
+                .uri("/api/catalog/ids?afterId={afterId}&limit={limit}", afterId, limit)
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {});
+        return response != null ? response : List.of();
+    }
+
+    /**
+     * Returns which of the ids the catalog has. Unlike {@link #getContentBatch}, failures propagate, so an outage
+     * is not mistaken for every id being missing.
+     */
+    public Set<Long> getExistingContentIds(List<Long> ids) {
+        String idsParam = ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+        List<ContentResponse> response = restClient.get()
+                .uri("/api/catalog/batch?ids={ids}", idsParam)
+                .retrieve()
+                .body(new ParameterizedTypeReference<>() {});
+        return response != null
+                ? response.stream().map(ContentResponse::id).collect(Collectors.toSet())
+                : Set.of();
+    }
+
+    /**
+     * @return whether the catalog has the content, or empty if the catalog could not be reached
+     */
+    public Optional<Boolean> contentExists(long id) {
+        try {
+            restClient.get()
+                    .uri("/api/catalog/{id}", id)
+                    .retrieve()
+                    .toBodilessEntity();
+            return Optional.of(true);
+        } catch (HttpClientErrorException.NotFound e) {
+            return Optional.of(false);
+        } catch (Exception e) {
+            log.warn("Failed to confirm content id {} with catalog-service", id, e);
+            return Optional.empty();
         }
     }
 
@@ -0,0 +1,98 @@
+package com.entertainment.watchhistory.coalescing;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps only the latest progress per {@code (visitorId, contentId)} until it is flushed. Keys are spread over
+ * independent stripes so concurrent heartbeats for different visitors do not contend, and offering never blocks
+ * on a flush: a flush works from a snapshot and afterwards removes only the entries it actually wrote, so
+ * progress that arrives in the meantime stays pending for the next flush. The number of pending keys is kept in
+ * a counter, so checking it on every offer does not walk the stripes.
+ */
+public class WatchProgressBuffer {
+
+    private final List<Map<Key, Pending>> stripes;
+    private final int mask;
+    private final int maxKeys;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public WatchProgressBuffer(int stripes, int maxKeys) {
+        int count = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+        List<Map<Key, Pending>> maps = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            maps.add(new ConcurrentHashMap<>());
+        }
+        this.stripes = List.copyOf(maps);
+        this.mask = count - 1;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Records progress for the key, replacing any pending value.
+     *
+     * @param ingestId id of the heartbeat, persisted with the progress if it is still the latest at flush time
+     * @return {@code false} if the buffer is full and the key is not already pending
+     */
+    public boolean offer(String visitorId, long contentId, int watchedSeconds, LocalDateTime watchedAt, String ingestId) {
+        Key key = new Key(visitorId, contentId);
+        long now = System.nanoTime();
+        Pending pending = stripeFor(key).compute(key, (k, previous) -> {
+            if (previous != null) {
+                return new Pending(watchedSeconds, watchedAt, previous.firstOfferedNanos(), ingestId);
+            }
+            if (size.incrementAndGet() > maxKeys) {
+                size.decrementAndGet();
+                return null;
+            }
+            return new Pending(watchedSeconds, watchedAt, now, ingestId);
+        });
+        return pending != null;
+    }
+
+    public List<Entry> snapshot() {
+        List<Entry> entries = new ArrayList<>(size());
+        for (Map<Key, Pending> stripe : stripes) {
+            stripe.forEach((key, pending) -> entries.add(new Entry(key, pending)));
+        }
+        return entries;
+    }
+
+    /**
+     * Removes flushed entries unless they were superseded after the snapshot was taken.
+     */
+    public void acknowledge(List<Entry> flushed) {
+        for (Entry entry : flushed) {
+            if (stripeFor(entry.key()).remove(entry.key(), entry.pending())) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    int stripeCount() {
+        return stripes.size();
+    }
+
+    private Map<Key, Pending> stripeFor(Key key) {
+        int h = key.hashCode();
+        return stripes.get((h ^ (h >>> 16)) & mask);
+    }
+
+    public record Key(String visitorId, long contentId) {}
+
+    /**
+     * @param firstOfferedNanos when the oldest progress folded into this entry arrived, for flush-lag metrics
+     * @param ingestId id of the latest heartbeat, returned to its caller as the event id
+     */
+    public record Pending(int watchedSeconds, LocalDateTime watchedAt, long firstOfferedNanos, String ingestId) {}
+
+    public record Entry(Key key, Pending pending) {}
+}
@@ -0,0 +1,49 @@
+package com.entertainment.watchhistory.config;
+
+import com.entertainment.support.datasource.ReplicaDataSourceAutoConfiguration;
+import com.entertainment.support.datasource.ReplicaPools;
+import com.entertainment.watchhistory.sharding.ShardDataSourceProperties;
+import com.entertainment.watchhistory.sharding.ShardPools;
+import com.entertainment.watchhistory.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends every statement to the visitor's shard when shards are configured, otherwise falls back to the shared
+ * replica routing from {@link ReplicaDataSourceAutoConfiguration}. Replicas and shards are mutually exclusive.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardDataSourceProperties.class)
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardPools shardPools(HikariDataSource primaryDataSource,
+                                 ShardDataSourceProperties properties,
+                                 DataSourceProperties dataSourceProperties,
+                                 MeterRegistry meterRegistry) {
+        return new ShardPools(primaryDataSource, properties, dataSourceProperties.determineDriverClassName(), meterRegistry);
+    }
+
+    @Bean(destroyMethod = "")
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaPools replicaPools,
+                                 ShardPools shardPools,
+                                 MeterRegistry meterRegistry) {
+        if (shardPools.size() > 1) {
+            if (!replicaPools.replicas().isEmpty()) {
+                throw new IllegalStateException("datasource.read-replicas and datasource.shards cannot both be configured");
+            }
+            return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardPools, meterRegistry));
+        }
+        return ReplicaDataSourceAutoConfiguration.replicaRouting(primaryDataSource, replicaPools, meterRegistry);
+    }
+}
@@ -0,0 +1,78 @@
+package com.entertainment.watchhistory.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class WatchIngestKafkaConfig {
+
+    @Bean
+    public NewTopic watchIngestTopic(@Value("${watch-history.ingest.topic}") String topic,
+                                     @Value("${watch-history.ingest.partitions}") int partitions) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .build();
+    }
+
+    @Bean
+    public NewTopic watchIngestDeadLetterTopic(@Value("${watch-history.ingest.topic}") String topic,
+                                               @Value("${watch-history.ingest.partitions}") int partitions) {
+        // DeadLetterPublishingRecoverer keeps the source partition, so the DLT needs at least as many.
+        return TopicBuilder.name(topic + "-dlt")
+                .partitions(partitions)
+                .build();
+    }
+
+    /**
+     * Ingested events were already acknowledged with 202, so a failing batch must not be committed and dropped:
+     * it is retried with exponential backoff, which rides out short database outages, and any record that still
+     * fails is published to {@code <topic>-dlt} for replay.
+     */
+    @Bean
+    public DefaultErrorHandler watchIngestErrorHandler(
+            KafkaTemplate<String, String> kafkaTemplate,
+            @Value("${watch-history.ingest.retry.initial-interval}") Duration initialInterval,
+            @Value("${watch-history.ingest.retry.max-interval}") Duration maxInterval,
+            @Value("${watch-history.ingest.retry.max-retries}") int maxRetries) {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(initialInterval.toMillis());
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        return new DefaultErrorHandler(new DeadLetterPublishingRecoverer(kafkaTemplate), backOff);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> watchIngestListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            DefaultErrorHandler watchIngestErrorHandler,
+            @Value("${watch-history.ingest.batch-size}") int batchSize,
+            @Value("${watch-history.ingest.consumer-concurrency}") int concurrency) {
+        Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(
+                consumerProperties, new StringDeserializer(), new StringDeserializer()));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(watchIngestErrorHandler);
+        return factory;
+    }
+}
@@ -0,0 +1,26 @@
+package com.entertainment.watchhistory.controller;
+
+import com.entertainment.watchhistory.cowatch.CoWatchIndex.AlsoWatched;
+import com.entertainment.watchhistory.service.CoWatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/content")
+@RequiredArgsConstructor
+public class CoWatchController {
+
+    private final CoWatchService coWatchService;
+
+    @GetMapping("/{contentId}/also-watched")
+    public ResponseEntity<List<AlsoWatched>> getAlsoWatched(@PathVariable Long contentId,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(coWatchService.getAlsoWatched(contentId, limit));
+    }
+}
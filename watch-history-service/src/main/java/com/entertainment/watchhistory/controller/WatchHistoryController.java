@@ -1,14 +1,19 @@
 package com.entertainment.watchhistory.controller;
 
 import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.service.ContentIdValidator;
 import com.entertainment.watchhistory.service.WatchHistoryService;
 import com.entertainment.watchhistory.service.WatchHistoryService.WatchHistoryResponse;
+import com.entertainment.watchhistory.service.WatchIngestService;
+import com.entertainment.watchhistory.service.WatchProgressCoalescer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
@@ -16,14 +21,28 @@ import java.util.List;
 public class WatchHistoryController {
 
     private final WatchHistoryService watchHistoryService;
+    private final WatchIngestService watchIngestService;
+    private final ContentIdValidator contentIdValidator;
+    private final WatchProgressCoalescer watchProgressCoalescer;
 
     @PostMapping("/watch")
-    public ResponseEntity<WatchRecord> recordWatch(@RequestBody RecordWatchRequest request) {
+    public ResponseEntity<?> recordWatch(@RequestBody RecordWatchRequest request) {
+        if (!request.isValid()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!contentIdValidator.isKnownContent(request.contentId())) {
+            return ResponseEntity.unprocessableEntity().build();
+        }
         WatchRecord watchRecord = WatchRecord.builder()
                 .visitorId(request.visitorId())
                 .contentId(request.contentId())
                 .watchedSeconds(request.watchedSeconds())
                 .build();
+        Optional<WatchEvent> queued = watchProgressCoalescer.offer(watchRecord)
+                .or(() -> watchIngestService.tryIngestAsync(watchRecord));
+        if (queued.isPresent()) {
+            return ResponseEntity.accepted().body(queued.get());
+        }
         WatchRecord saved = watchHistoryService.recordWatch(watchRecord);
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
@@ -33,5 +52,12 @@ public class WatchHistoryController {
         return ResponseEntity.ok(watchHistoryService.getWatchHistory(visitorId));
     }
 
-    public record RecordWatchRequest(String visitorId, Long contentId, Integer watchedSeconds) {}
+    public record RecordWatchRequest(String visitorId, Long contentId, Integer watchedSeconds) {
+
+        boolean isValid() {
+            return visitorId != null && !visitorId.isBlank()
+                    && contentId != null && contentId > 0
+                    && watchedSeconds != null && watchedSeconds >= 0;
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.entertainment.watchhistory.cowatch;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained "also watched" index. Each watch pairs the content with the visitor's recent
+ * distinct titles; pair counts live in primitive long-keyed rows capped at {@code topK} survivors, so a
+ * lookup touches one bounded row regardless of catalog or history size.
+ */
+public class CoWatchIndex {
+
+    private final int topK;
+    private final int recentWindow;
+    private final Long2ObjectOpenHashMap<CoWatchRow> rows = new Long2ObjectOpenHashMap<>();
+    private final ReadWriteLock rowsLock = new ReentrantReadWriteLock();
+    private final Map<String, LongArrayList> recentByVisitor;
+
+    public CoWatchIndex(int topK, int recentWindow, int maxVisitors) {
+        this.topK = topK;
+        this.recentWindow = recentWindow;
+        this.recentByVisitor = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LongArrayList> eldest) {
+                return size() > maxVisitors;
+            }
+        };
+    }
+
+    public void recordWatch(String visitorId, long contentId) {
+        long[] previous;
+        synchronized (recentByVisitor) {
+            LongArrayList recent = recentByVisitor.computeIfAbsent(visitorId, key -> new LongArrayList(recentWindow));
+            if (recent.contains(contentId)) {
+                // Repeated progress updates for the same title must not inflate its pair counts.
+                return;
+            }
+            previous = recent.toLongArray();
+            if (recent.size() == recentWindow) {
+                recent.removeLong(0);
+            }
+            recent.add(contentId);
+        }
+
+        if (previous.length == 0) {
+            return;
+        }
+        CoWatchRow row = rowFor(contentId);
+        for (long other : previous) {
+            row.increment(other, 1);
+            rowFor(other).increment(contentId, 1);
+        }
+    }
+
+    public List<AlsoWatched> alsoWatched(long contentId, int limit) {
+        CoWatchRow row = existingRow(contentId);
+        if (row == null) {
+            return List.of();
+        }
+        long[][] top = row.top(Math.min(limit, topK));
+        List<AlsoWatched> result = new ArrayList<>(top.length);
+        for (long[] entry : top) {
+            result.add(new AlsoWatched(entry[0], (int) entry[1]));
+        }
+        return result;
+    }
+
+    public int contentCount() {
+        rowsLock.readLock().lock();
+        try {
+            return rows.size();
+        } finally {
+            rowsLock.readLock().unlock();
+        }
+    }
+
+    int topK() {
+        return topK;
+    }
+
+    /**
+     * Copies the rows out under the read lock for serialization.
+     */
+    Long2ObjectMap<CoWatchRow> rowsView() {
+        rowsLock.readLock().lock();
+        try {
+            return new Long2ObjectOpenHashMap<>(rows);
+        } finally {
+            rowsLock.readLock().unlock();
+        }
+    }
+
+    void restoreRow(long contentId, long[] ids, int[] counts) {
+        CoWatchRow row = rowFor(contentId);
+        for (int i = 0; i < ids.length; i++) {
+            row.increment(ids[i], counts[i]);
+        }
+    }
+
+    private CoWatchRow existingRow(long contentId) {
+        rowsLock.readLock().lock();
+        try {
+            return rows.get(contentId);
+        } finally {
+            rowsLock.readLock().unlock();
+        }
+    }
+
+    private CoWatchRow rowFor(long contentId) {
+        CoWatchRow row = existingRow(contentId);
+        if (row != null) {
+            return row;
+        }
+        rowsLock.writeLock().lock();
+        try {
+            return rows.computeIfAbsent(contentId, key -> new CoWatchRow(topK));
+        } finally {
+            rowsLock.writeLock().unlock();
+        }
+    }
+
+    public record AlsoWatched(long contentId, int count) {}
+}
@@ -0,0 +1,87 @@
+package com.entertainment.watchhistory.cowatch;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import java.util.Arrays;
+
+/**
+ * Co-watch counts for one content id, held in parallel primitive arrays of fixed capacity
+ * ({@code 2 * topK}). When the row is full the weaker half is pruned, so memory per content id is bounded
+ * and every operation is O(topK).
+ */
+final class CoWatchRow {
+
+    private final int topK;
+    private final long[] ids;
+    private final int[] counts;
+    private int size;
+
+    CoWatchRow(int topK) {
+        this.topK = topK;
+        this.ids = new long[topK * 2];
+        this.counts = new int[topK * 2];
+    }
+
+    synchronized void increment(long otherId, int delta) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == otherId) {
+                counts[i] += delta;
+                return;
+            }
+        }
+        if (size == ids.length) {
+            prune();
+        }
+        ids[size] = otherId;
+        counts[size] = delta;
+        size++;
+    }
+
+    /**
+     * @return up to {@code limit} entries as {@code [id, count]} pairs, strongest first
+     */
+    synchronized long[][] top(int limit) {
+        int[] order = sortedOrder();
+        int n = Math.min(limit, size);
+        long[][] top = new long[n][];
+        for (int i = 0; i < n; i++) {
+            top[i] = new long[] {ids[order[i]], counts[order[i]]};
+        }
+        return top;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Copies both arrays under one lock, so ids and counts stay aligned while increments keep arriving.
+     */
+    synchronized Entries entries() {
+        return new Entries(Arrays.copyOf(ids, size), Arrays.copyOf(counts, size));
+    }
+
+    private void prune() {
+        int[] order = sortedOrder();
+        long[] keptIds = new long[topK];
+        int[] keptCounts = new int[topK];
+        for (int i = 0; i < topK; i++) {
+            keptIds[i] = ids[order[i]];
+            keptCounts[i] = counts[order[i]];
+        }
+        System.arraycopy(keptIds, 0, ids, 0, topK);
+        System.arraycopy(keptCounts, 0, counts, 0, topK);
+        size = topK;
+    }
+
+    private int[] sortedOrder() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        IntArrays.quickSort(order, (a, b) -> Integer.compare(counts[b], counts[a]));
+        return order;
+    }
+
+    record Entries(long[] ids, int[] counts) {}
+}
@@ -0,0 +1,97 @@
+package com.entertainment.watchhistory.cowatch;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot of a {@link CoWatchIndex}, written and read through memory-mapped files so a restart
+ * restores the index with sequential page-cache reads instead of replaying watch history.
+ *
+ * <pre>
+ * header: int magic, int version, int topK, int rowCount
+ * row:    long contentId, int n, long[n] ids, int[n] counts
+ * </pre>
+ */
+public final class CoWatchSnapshot {
+
+    private static final int MAGIC = 0x43575831;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    private CoWatchSnapshot() {
+    }
+
+    public static void write(CoWatchIndex index, Path path) throws IOException {
+        Long2ObjectMap<CoWatchRow> rows = index.rowsView();
+        long[][] rowIds = new long[rows.size()][];
+        int[][] rowCounts = new int[rows.size()][];
+        long[] contentIds = new long[rows.size()];
+        long bytes = HEADER_BYTES;
+        int r = 0;
+        for (Long2ObjectMap.Entry<CoWatchRow> entry : rows.long2ObjectEntrySet()) {
+            contentIds[r] = entry.getLongKey();
+            CoWatchRow.Entries entries = entry.getValue().entries();
+            rowIds[r] = entries.ids();
+            rowCounts[r] = entries.counts();
+            bytes += Long.BYTES + Integer.BYTES + (long) rowIds[r].length * (Long.BYTES + Integer.BYTES);
+            r++;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(index.topK()).putInt(contentIds.length);
+            for (int i = 0; i < contentIds.length; i++) {
+                buffer.putLong(contentIds[i]).putInt(rowIds[i].length);
+                for (long id : rowIds[i]) {
+                    buffer.putLong(id);
+                }
+                for (int count : rowCounts[i]) {
+                    buffer.putInt(count);
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the number of rows restored, or 0 if there is no snapshot
+     */
+    public static int load(CoWatchIndex index, Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unrecognized co-watch snapshot format: " + path);
+            }
+            buffer.getInt(); // topK at write time; rows are re-pruned to the current topK on restore
+            int rowCount = buffer.getInt();
+            for (int r = 0; r < rowCount; r++) {
+                long contentId = buffer.getLong();
+                int n = buffer.getInt();
+                long[] ids = new long[n];
+                int[] counts = new int[n];
+                for (int i = 0; i < n; i++) {
+                    ids[i] = buffer.getLong();
+                }
+                for (int i = 0; i < n; i++) {
+                    counts[i] = buffer.getInt();
+                }
+                index.restoreRow(contentId, ids, counts);
+            }
+            return rowCount;
+        }
+    }
+}
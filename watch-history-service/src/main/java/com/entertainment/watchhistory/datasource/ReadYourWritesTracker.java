@@ -0,0 +1,50 @@
+package com.entertainment.watchhistory.datasource;
+
+import com.entertainment.support.datasource.ReplicaDataSourceProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers visitors who wrote recently so their history reads stay on the primary until the replicas
+ * have had time to catch up. Tracking is per instance and only active when replicas are configured.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(ReplicaDataSourceProperties properties,
+                                 @Value("${datasource.read-replicas.read-your-writes-window:10s}") Duration window,
+                                 MeterRegistry meterRegistry) {
+        this.enabled = !properties.replicas().isEmpty();
+        this.windowNanos = window.toNanos();
+        Gauge.builder("datasource.read-your-writes.visitors", stickyUntil, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void markWrite(String visitorId) {
+        if (enabled) {
+            stickyUntil.put(visitorId, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public boolean requiresPrimary(String visitorId) {
+        Long until = stickyUntil.get(visitorId);
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.read-replicas.lag-check-interval-ms:2000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> now - until >= 0);
+    }
+}
@@ -36,6 +36,12 @@ public class WatchRecord {
     @Column(name = "watched_at", nullable = false)
     private LocalDateTime watchedAt;
 
+    @Column(name = "ingest_id", unique = true)
+    private String ingestId;
+
+    @Column(name = "shard_bucket")
+    private Integer shardBucket;
+
     @PrePersist
     protected void onCreate() {
         watchedAt = LocalDateTime.now();
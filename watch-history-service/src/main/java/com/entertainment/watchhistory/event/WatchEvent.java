@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class WatchEvent {
+    private String eventId;
     private String visitorId;
     private Long contentId;
     private Integer watchedSeconds;
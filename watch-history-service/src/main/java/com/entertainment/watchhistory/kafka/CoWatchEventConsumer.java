@@ -0,0 +1,38 @@
+package com.entertainment.watchhistory.kafka;
+
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.service.CoWatchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every persisted watch, from either ingestion path, into the co-watch index. Each instance uses
+ * its own consumer group, named after its stable {@code watch-history.co-watch.instance-id}, so that its
+ * index sees all visitors and resumes from its committed offset after a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoWatchEventConsumer {
+
+    private final CoWatchService coWatchService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            id = "co-watch-index",
+            topics = "watch-events",
+            groupId = "${watch-history.co-watch.consumer-group}",
+            autoStartup = "${watch-history.co-watch.enabled}")
+    public void consume(String message) {
+        try {
+            WatchEvent event = objectMapper.readValue(message, WatchEvent.class);
+            coWatchService.recordWatch(event.getVisitorId(), event.getContentId());
+        } catch (JsonProcessingException e) {
+            log.error("Skipping malformed watch event: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.entertainment.watchhistory.kafka;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks the ingest consumer group's lag and decides whether {@code POST /api/watch} may take the
+ * asynchronous path. Backpressure engages when lag exceeds the threshold and releases once it drains
+ * below half of it, so the mode does not flap around the boundary.
+ */
+@Component
+@Slf4j
+public class IngestBackpressureMonitor implements DisposableBean {
+
+    private static final long ADMIN_TIMEOUT_MS = 5000;
+
+    private final KafkaAdmin kafkaAdmin;
+    private final boolean asyncEnabled;
+    private final String topic;
+    private final String consumerGroup;
+    private final long lagThreshold;
+    private final AtomicLong consumerLag = new AtomicLong();
+    private final AtomicBoolean backpressure = new AtomicBoolean();
+    private AdminClient adminClient;
+
+    public IngestBackpressureMonitor(KafkaAdmin kafkaAdmin,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${watch-history.ingest.async-enabled}") boolean asyncEnabled,
+                                     @Value("${watch-history.ingest.topic}") String topic,
+                                     @Value("${watch-history.ingest.consumer-group}") String consumerGroup,
+                                     @Value("${watch-history.ingest.lag-threshold}") long lagThreshold) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.asyncEnabled = asyncEnabled;
+        this.topic = topic;
+        this.consumerGroup = consumerGroup;
+        this.lagThreshold = lagThreshold;
+        Gauge.builder("watch.ingest.consumer.lag", consumerLag, AtomicLong::get)
+                .tag("topic", topic)
+                .register(meterRegistry);
+        Gauge.builder("watch.ingest.backpressure", backpressure, engaged -> engaged.get() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public boolean isAsyncIngestAvailable() {
+        return asyncEnabled && !backpressure.get();
+    }
+
+    @Scheduled(fixedDelayString = "${watch-history.ingest.lag-check-interval-ms}")
+    public void checkLag() {
+        if (!asyncEnabled) {
+            return;
+        }
+        try {
+            long lag = measureLag();
+            consumerLag.set(lag);
+            if (lag > lagThreshold && backpressure.compareAndSet(false, true)) {
+                log.warn("Ingest consumer lag {} exceeds {}, switching POST /api/watch to synchronous mode",
+                        lag, lagThreshold);
+            } else if (lag <= lagThreshold / 2 && backpressure.compareAndSet(true, false)) {
+                log.info("Ingest consumer lag drained to {}, resuming asynchronous ingestion", lag);
+            }
+        } catch (Exception e) {
+            // Without a lag reading we cannot bound how far behind the consumer is, so fall back to sync writes.
+            if (backpressure.compareAndSet(false, true)) {
+                log.warn("Unable to measure ingest consumer lag, switching to synchronous mode", e);
+            }
+        }
+    }
+
+    private long measureLag() throws Exception {
+        AdminClient admin = adminClient();
+        TopicDescription description = admin.describeTopics(List.of(topic))
+                .allTopicNames()
+                .get(ADMIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .get(topic);
+        List<TopicPartition> partitions = description.partitions().stream()
+                .map(partition -> new TopicPartition(topic, partition.partition()))
+                .toList();
+
+        Map<TopicPartition, ListOffsetsResultInfo> latest = listOffsets(admin, partitions, OffsetSpec.latest());
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(consumerGroup)
+                .partitionsToOffsetAndMetadata()
+                .get(ADMIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        // A partition the group has never committed is consumed from the log start, not from offset 0:
+        // after retention has deleted segments, counting from 0 would report lag that can never drain.
+        List<TopicPartition> uncommitted = partitions.stream()
+                .filter(partition -> committed.get(partition) == null)
+                .toList();
+        Map<TopicPartition, ListOffsetsResultInfo> earliest = uncommitted.isEmpty()
+                ? Map.of()
+                : listOffsets(admin, uncommitted, OffsetSpec.earliest());
+
+        long lag = 0;
+        for (Map.Entry<TopicPartition, ListOffsetsResultInfo> entry : latest.entrySet()) {
+            OffsetAndMetadata offset = committed.get(entry.getKey());
+            long consumed = offset != null ? offset.offset() : earliest.get(entry.getKey()).offset();
+            lag += Math.max(0, entry.getValue().offset() - consumed);
+        }
+        return lag;
+    }
+
+    private static Map<TopicPartition, ListOffsetsResultInfo> listOffsets(AdminClient admin,
+                                                                          List<TopicPartition> partitions,
+                                                                          OffsetSpec spec) throws Exception {
+        Map<TopicPartition, OffsetSpec> request = partitions.stream()
+                .collect(Collectors.toMap(Function.identity(), partition -> spec));
+        return admin.listOffsets(request)
+                .all()
+                .get(ADMIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized AdminClient adminClient() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return adminClient;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
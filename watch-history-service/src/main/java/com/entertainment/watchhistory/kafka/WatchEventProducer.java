@@ -2,6 +2,7 @@ package com.entertainment.watchhistory.kafka;
 
 import com.entertainment.watchhistory.domain.WatchRecord;
 import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.profiling.WatchEventPublishEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +23,11 @@ public class WatchEventProducer {
     private final ObjectMapper objectMapper;
 
     public void publishWatchEvent(WatchRecord watchRecord) {
+        WatchEventPublishEvent publishEvent = new WatchEventPublishEvent();
+        publishEvent.begin();
+        publishEvent.contentId = watchRecord.getContentId() != null ? watchRecord.getContentId() : 0;
         WatchEvent event = WatchEvent.builder()
+                .eventId(watchRecord.getIngestId())
                 .visitorId(watchRecord.getVisitorId())
                 .contentId(watchRecord.getContentId())
                 .watchedSeconds(watchRecord.getWatchedSeconds())
@@ -31,6 +36,7 @@ public class WatchEventProducer {
 
         try {
             String message = objectMapper.writeValueAsString(event);
+            publishEvent.payloadLength = message.length();
             kafkaTemplate.send(TOPIC, watchRecord.getVisitorId(), message)
                     .whenComplete((result, ex) -> {
                         if (ex == null) {
@@ -43,6 +49,8 @@ public class WatchEventProducer {
                     });
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize watch event", e);
+        } finally {
+            publishEvent.commit();
         }
     }
 }
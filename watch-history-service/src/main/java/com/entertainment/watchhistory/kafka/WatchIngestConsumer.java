@@ -0,0 +1,69 @@
+package com.entertainment.watchhistory.kafka;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the ingest topic in batches and persists them with idempotent upserts. Offsets are committed only
+ * after the batch is stored, so a redelivery after a crash is deduplicated by {@code ingest_id}. Messages that
+ * cannot be turned into a complete record are skipped; a batch that fails to store is retried and eventually
+ * dead-lettered by the container's error handler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WatchIngestConsumer {
+
+    private final WatchHistoryService watchHistoryService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            id = "watch-ingest",
+            topics = "${watch-history.ingest.topic}",
+            groupId = "${watch-history.ingest.consumer-group}",
+            containerFactory = "watchIngestListenerContainerFactory",
+            autoStartup = "${watch-history.ingest.async-enabled}")
+    public void consume(List<String> messages) {
+        List<WatchRecord> records = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                WatchEvent event = objectMapper.readValue(message, WatchEvent.class);
+                if (!isComplete(event)) {
+                    log.error("Skipping incomplete ingest message: {}", message);
+                    continue;
+                }
+                records.add(WatchRecord.builder()
+                        .ingestId(event.getEventId())
+                        .visitorId(event.getVisitorId())
+                        .contentId(event.getContentId())
+                        .watchedSeconds(event.getWatchedSeconds())
+                        .watchedAt(event.getTimestamp())
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.error("Skipping malformed ingest message: {}", message, e);
+            }
+        }
+        if (!records.isEmpty()) {
+            watchHistoryService.recordWatchBatch(records);
+        }
+    }
+
+    private static boolean isComplete(WatchEvent event) {
+        return event != null
+                && event.getEventId() != null
+                && event.getVisitorId() != null
+                && event.getContentId() != null
+                && event.getWatchedSeconds() != null
+                && event.getTimestamp() != null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.entertainment.watchhistory.kafka;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends accepted watch events to the ingest topic, keyed by visitor so one visitor's events stay ordered.
+ */
+@Component
+@Slf4j
+public class WatchIngestProducer {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topic;
+    private final long sendTimeoutMs;
+
+    public WatchIngestProducer(KafkaTemplate<String, String> kafkaTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${watch-history.ingest.topic}") String topic,
+                               @Value("${watch-history.ingest.send-timeout-ms}") long sendTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topic = topic;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    /**
+     * Publishes the event and waits for the broker acknowledgement.
+     *
+     * @return the published event, or empty if it could not be durably appended
+     */
+    public Optional<WatchEvent> publish(WatchRecord watchRecord) {
+        WatchEvent event = WatchEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .visitorId(watchRecord.getVisitorId())
+                .contentId(watchRecord.getContentId())
+                .watchedSeconds(watchRecord.getWatchedSeconds())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        try {
+            String message = objectMapper.writeValueAsString(event);
+            kafkaTemplate.send(topic, event.getVisitorId(), message).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return Optional.of(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (Exception e) {
+            log.warn("Failed to append watch event to {} for visitor: {}", topic, event.getVisitorId(), e);
+            return Optional.empty();
+        }
+    }
+}
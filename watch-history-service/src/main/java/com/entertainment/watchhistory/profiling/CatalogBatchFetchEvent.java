@@ -0,0 +1,26 @@
+package com.entertainment.watchhistory.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans one {@code CatalogServiceClient.getContentBatch} HTTP call.
+ */
+@Name("com.entertainment.watchhistory.CatalogBatchFetch")
+@Label("Catalog Batch Fetch")
+@Category({"Entertainment", "Watch History"})
+@Description("Fetches content details for a batch of ids from catalog-service")
+public class CatalogBatchFetchEvent extends Event {
+
+    @Label("Ids")
+    public int idsCount;
+
+    @Label("Result Size")
+    public int resultSize;
+
+    @Label("Failed")
+    public boolean failed;
+}
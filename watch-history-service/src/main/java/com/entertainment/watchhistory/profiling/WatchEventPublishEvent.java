@@ -0,0 +1,24 @@
+package com.entertainment.watchhistory.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans serializing a watch event and handing it to the Kafka producer; the broker acknowledgement
+ * completes asynchronously and is not included.
+ */
+@Name("com.entertainment.watchhistory.WatchEventPublish")
+@Label("Watch Event Publish")
+@Category({"Entertainment", "Watch History"})
+@Description("Serializes a watch event and enqueues it on the watch-events topic")
+public class WatchEventPublishEvent extends Event {
+
+    @Label("Content Id")
+    public long contentId;
+
+    @Label("Payload Length")
+    public int payloadLength;
+}
@@ -0,0 +1,29 @@
+package com.entertainment.watchhistory.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Spans one {@code WatchHistoryService.getWatchHistory} call, including the catalog enrichment.
+ */
+@Name("com.entertainment.watchhistory.WatchHistoryQuery")
+@Label("Watch History Query")
+@Category({"Entertainment", "Watch History"})
+@Description("Loads a visitor's watch history and enriches it with catalog content")
+public class WatchHistoryQueryEvent extends Event {
+
+    @Label("Shard")
+    public int shard;
+
+    @Label("Records")
+    public int recordCount;
+
+    @Label("Content Ids")
+    public int contentIdsCount;
+
+    @Label("Result Size")
+    public int resultSize;
+}
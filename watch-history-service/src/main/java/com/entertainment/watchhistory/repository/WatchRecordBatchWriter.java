@@ -0,0 +1,158 @@
+package com.entertainment.watchhistory.repository;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch writes for {@link WatchRecord}s that arrive in bulk and bypass the JPA persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WatchRecordBatchWriter {
+
+    private static final String INSERT_IGNORE_DUPLICATES = """
+            INSERT INTO watch_history_db.watch_record (visitor_id, content_id, watched_seconds, watched_at, ingest_id, shard_bucket)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (ingest_id) DO NOTHING
+            """;
+
+    /**
+     * Updates the visitor's most recent row for the content if it falls within the session window, otherwise
+     * inserts a new row, for a whole batch of distinct {@code (visitor_id, content_id)} keys in one round trip.
+     * A row that already holds newer progress is left alone, so a delayed flush cannot move progress backwards.
+     * An updated row takes the incoming {@code ingest_id}, so it always carries the id of its latest heartbeat.
+     */
+    private static final String UPSERT_PROGRESS = """
+            WITH incoming AS (
+                SELECT *
+                FROM unnest(?::varchar[], ?::bigint[], ?::integer[], ?::timestamp[], ?::varchar[], ?::integer[])
+                     AS t(visitor_id, content_id, watched_seconds, watched_at, ingest_id, shard_bucket)
+            ),
+            latest AS (
+                SELECT DISTINCT ON (w.visitor_id, w.content_id) w.id, w.visitor_id, w.content_id
+                FROM watch_history_db.watch_record w
+                JOIN incoming i ON i.visitor_id = w.visitor_id AND i.content_id = w.content_id
+                WHERE w.watched_at >= i.watched_at - ? * INTERVAL '1 second'
+                ORDER BY w.visitor_id, w.content_id, w.watched_at DESC
+            ),
+            updated AS (
+                UPDATE watch_history_db.watch_record w
+                SET watched_seconds = i.watched_seconds, watched_at = i.watched_at, ingest_id = i.ingest_id
+                FROM latest l
+                JOIN incoming i ON i.visitor_id = l.visitor_id AND i.content_id = l.content_id
+                WHERE w.id = l.id AND w.watched_at <= i.watched_at
+                RETURNING w.id, w.visitor_id, w.content_id, TRUE AS was_update
+            ),
+            inserted AS (
+                INSERT INTO watch_history_db.watch_record (visitor_id, content_id, watched_seconds, watched_at, ingest_id, shard_bucket)
+                SELECT i.visitor_id, i.content_id, i.watched_seconds, i.watched_at, i.ingest_id, i.shard_bucket
+                FROM incoming i
+                WHERE NOT EXISTS (SELECT 1 FROM latest l WHERE l.visitor_id = i.visitor_id AND l.content_id = i.content_id)
+                RETURNING id, visitor_id, content_id, FALSE AS was_update
+            )
+            SELECT id, visitor_id, content_id, was_update FROM updated
+            UNION ALL
+            SELECT id, visitor_id, content_id, was_update FROM inserted
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the records in a single JDBC batch, skipping any whose {@code ingestId} was already persisted,
+     * so a redelivered batch is a no-op.
+     *
+     * @return the records that were actually inserted by this call
+     */
+    public List<WatchRecord> insertIgnoringDuplicates(List<WatchRecord> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IGNORE_DUPLICATES, records, records.size(), (ps, record) -> {
+            ps.setString(1, record.getVisitorId());
+            ps.setLong(2, record.getContentId());
+            ps.setInt(3, record.getWatchedSeconds());
+            ps.setTimestamp(4, Timestamp.valueOf(record.getWatchedAt()));
+            ps.setString(5, record.getIngestId());
+            ps.setObject(6, record.getShardBucket(), Types.INTEGER);
+        });
+
+        List<WatchRecord> inserted = new ArrayList<>(records.size());
+        int[] batchCounts = counts[0];
+        for (int i = 0; i < batchCounts.length; i++) {
+            if (batchCounts[i] > 0) {
+                inserted.add(records.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Writes the latest progress for each record, which must have distinct {@code (visitorId, contentId)} keys.
+     * Records are given the id of the row they updated or inserted; records older than the stored progress are
+     * skipped and not returned.
+     * <p>
+     * Keys are not locked: if two instances flush the first progress of the same session concurrently, neither
+     * sees the other's uncommitted row and both insert one. History then lists that session twice until the
+     * older row ages out of the window, and later flushes only update the newer row. Heartbeats of one playback
+     * normally reach the same instance, so this is accepted rather than paying a per-key lock on every flush.
+     */
+    public List<Upserted> upsertProgress(List<WatchRecord> records, Duration sessionWindow) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, WatchRecord> byKey = new HashMap<>(records.size() * 2);
+        String[] visitorIds = new String[records.size()];
+        Long[] contentIds = new Long[records.size()];
+        Integer[] watchedSeconds = new Integer[records.size()];
+        Timestamp[] watchedAt = new Timestamp[records.size()];
+        String[] ingestIds = new String[records.size()];
+        Integer[] shardBuckets = new Integer[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            WatchRecord record = records.get(i);
+            byKey.put(key(record.getVisitorId(), record.getContentId()), record);
+            visitorIds[i] = record.getVisitorId();
+            contentIds[i] = record.getContentId();
+            watchedSeconds[i] = record.getWatchedSeconds();
+            watchedAt[i] = Timestamp.valueOf(record.getWatchedAt());
+            ingestIds[i] = record.getIngestId();
+            shardBuckets[i] = record.getShardBucket();
+        }
+
+        return jdbcTemplate.query(UPSERT_PROGRESS, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("varchar", visitorIds));
+            ps.setArray(2, connection.createArrayOf("bigint", contentIds));
+            ps.setArray(3, connection.createArrayOf("integer", watchedSeconds));
+            ps.setArray(4, connection.createArrayOf("timestamp", watchedAt));
+            ps.setArray(5, connection.createArrayOf("varchar", ingestIds));
+            ps.setArray(6, connection.createArrayOf("integer", shardBuckets));
+            ps.setLong(7, sessionWindow.toSeconds());
+        }, (rs, rowNum) -> {
+            WatchRecord record = byKey.get(key(rs.getString("visitor_id"), rs.getLong("content_id")));
+            record.setId(rs.getLong("id"));
+            return new Upserted(record, rs.getBoolean("was_update"));
+        });
+    }
+
+    private static String key(String visitorId, long contentId) {
+        return contentId + ":" + visitorId;
+    }
+
+    /**
+     * @param updated whether an existing row in the session window was updated rather than a new row inserted
+     */
+    public record Upserted(WatchRecord record, boolean updated) {}
+}
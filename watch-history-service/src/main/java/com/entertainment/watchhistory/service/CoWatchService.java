@@ -0,0 +1,81 @@
+package com.entertainment.watchhistory.service;
+
+import com.entertainment.watchhistory.cowatch.CoWatchIndex;
+import com.entertainment.watchhistory.cowatch.CoWatchIndex.AlsoWatched;
+import com.entertainment.watchhistory.cowatch.CoWatchSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Owns the in-memory co-watch index: restores it from the last snapshot on startup and persists it
+ * periodically and on shutdown.
+ */
+@Service
+@Slf4j
+public class CoWatchService {
+
+    private final CoWatchIndex coWatchIndex;
+    private final Path snapshotPath;
+    private final Timer snapshotTimer;
+
+    public CoWatchService(MeterRegistry meterRegistry,
+                          @Value("${watch-history.co-watch.top-k}") int topK,
+                          @Value("${watch-history.co-watch.recent-window}") int recentWindow,
+                          @Value("${watch-history.co-watch.max-visitors}") int maxVisitors,
+                          @Value("${watch-history.co-watch.snapshot-path}") String snapshotPath) {
+        this.coWatchIndex = new CoWatchIndex(topK, recentWindow, maxVisitors);
+        this.snapshotPath = Path.of(snapshotPath);
+        this.snapshotTimer = Timer.builder("watch.cowatch.snapshot.duration")
+                .register(meterRegistry);
+        Gauge.builder("watch.cowatch.content", coWatchIndex, CoWatchIndex::contentCount)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void restore() {
+        try {
+            int rows = CoWatchSnapshot.load(coWatchIndex, snapshotPath);
+            log.info("Restored co-watch index with {} content rows from {}", rows, snapshotPath);
+        } catch (IOException e) {
+            log.warn("Could not restore co-watch snapshot from {}, starting empty", snapshotPath, e);
+        }
+    }
+
+    public void recordWatch(String visitorId, Long contentId) {
+        if (visitorId != null && contentId != null) {
+            coWatchIndex.recordWatch(visitorId, contentId);
+        }
+    }
+
+    public List<AlsoWatched> getAlsoWatched(Long contentId, int limit) {
+        return coWatchIndex.alsoWatched(contentId, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${watch-history.co-watch.snapshot-interval-ms}",
+            initialDelayString = "${watch-history.co-watch.snapshot-interval-ms}")
+    public void snapshot() {
+        snapshotTimer.record(() -> {
+            try {
+                CoWatchSnapshot.write(coWatchIndex, snapshotPath);
+            } catch (IOException e) {
+                log.error("Failed to write co-watch snapshot to {}", snapshotPath, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+}
@@ -0,0 +1,193 @@
+package com.entertainment.watchhistory.service;
+
+import com.entertainment.watchhistory.client.CatalogServiceClient;
+import com.entertainment.watchhistory.contentid.ContentIdBitSet;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates content ids on the write path against a local copy of the catalog's id set, bootstrapped from
+ * catalog-service and kept in sync by polling for ids above the last watermark.
+ * <p>
+ * Ids at or below the settled watermark are answered locally. Newer ids may not have been synced yet, so a
+ * miss there is confirmed with catalog-service, and confirmed misses are remembered for one sync interval.
+ * A transaction that commits late (a bulk import, say) can still add ids the sync has already passed, so
+ * misses below the watermark are re-checked in bulk on the next sync; such an id is rejected until then.
+ * Until the first sync succeeds, or whenever catalog-service cannot answer, validation fails open.
+ */
+@Service
+@Slf4j
+public class ContentIdValidator {
+
+    private static final int CONFIRM_BATCH_SIZE = 200;
+
+    private final CatalogServiceClient catalogServiceClient;
+    private final ContentIdBitSet knownIds = new ContentIdBitSet();
+    private final Cache<Long, Boolean> confirmedMissing;
+    private final Set<Long> unconfirmedMisses = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+    private final int pageSize;
+    private final int negativeCacheSize;
+    private final Counter knownChecks;
+    private final Counter unknownChecks;
+    private final Counter confirmedChecks;
+    private final Counter unverifiedChecks;
+
+    private volatile boolean ready;
+    private volatile long settledWatermark;
+    private volatile long lastSyncedMaxId;
+    private volatile long lastSyncNanos;
+
+    public ContentIdValidator(CatalogServiceClient catalogServiceClient,
+                              MeterRegistry meterRegistry,
+                              @Value("${watch-history.content-ids.enabled}") boolean enabled,
+                              @Value("${watch-history.content-ids.page-size}") int pageSize,
+                              @Value("${watch-history.content-ids.negative-cache-size}") int negativeCacheSize,
+                              @Value("${watch-history.content-ids.sync-interval-ms}") long syncIntervalMs) {
+        this.catalogServiceClient = catalogServiceClient;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.negativeCacheSize = negativeCacheSize;
+        this.confirmedMissing = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(Duration.ofMillis(syncIntervalMs))
+                .build();
+        this.knownChecks = checks(meterRegistry, "known");
+        this.unknownChecks = checks(meterRegistry, "unknown");
+        this.confirmedChecks = checks(meterRegistry, "confirmed");
+        this.unverifiedChecks = checks(meterRegistry, "unverified");
+        Gauge.builder("watch.content-ids.known", knownIds, ContentIdBitSet::cardinality)
+                .register(meterRegistry);
+        Gauge.builder("watch.content-ids.sync.age", this,
+                        v -> v.ready ? (System.nanoTime() - v.lastSyncNanos) / 1e9 : Double.NaN)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("watch.content-ids.checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isKnownContent(long contentId) {
+        if (!enabled) {
+            return true;
+        }
+        // Read the watermark before the bitset: every id at or below it was added before it was published.
+        long settled = settledWatermark;
+        if (knownIds.contains(contentId)) {
+            knownChecks.increment();
+            return true;
+        }
+        if (!ready) {
+            unverifiedChecks.increment();
+            return true;
+        }
+        if (confirmedMissing.getIfPresent(contentId) != null) {
+            unknownChecks.increment();
+            return false;
+        }
+        if (contentId <= settled) {
+            if (unconfirmedMisses.size() < negativeCacheSize) {
+                unconfirmedMisses.add(contentId);
+            }
+            unknownChecks.increment();
+            return false;
+        }
+
+        Optional<Boolean> exists = catalogServiceClient.contentExists(contentId);
+        if (exists.isEmpty()) {
+            unverifiedChecks.increment();
+            return true;
+        }
+        if (exists.get()) {
+            knownIds.add(contentId);
+            confirmedChecks.increment();
+            return true;
+        }
+        confirmedMissing.put(contentId, Boolean.TRUE);
+        unknownChecks.increment();
+        return false;
+    }
+
+    /**
+     * Pulls ids above the settled watermark. Each poll re-reads the ids seen by the previous one, so a row
+     * whose transaction committed shortly after a higher id was already visible is still picked up; later
+     * stragglers are found by {@link #confirmMisses}.
+     */
+    @Scheduled(fixedDelayString = "${watch-history.content-ids.sync-interval-ms}")
+    public void sync() {
+        if (!enabled) {
+            return;
+        }
+        long afterId = settledWatermark;
+        long fetched = 0;
+        try {
+            List<Long> page;
+            do {
+                page = catalogServiceClient.getContentIdsAfter(afterId, pageSize);
+                for (Long id : page) {
+                    knownIds.add(id);
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1);
+                }
+                fetched += page.size();
+            } while (page.size() == pageSize);
+        } catch (Exception e) {
+            log.warn("Content id sync from catalog-service failed after {} ids: {}", fetched, e.getMessage());
+            return;
+        }
+
+        settledWatermark = lastSyncedMaxId;
+        lastSyncedMaxId = afterId;
+        lastSyncNanos = System.nanoTime();
+        if (!ready) {
+            ready = true;
+            log.info("Content id set bootstrapped with {} ids ({} bytes)", fetched, knownIds.sizeInBytes());
+        }
+        confirmMisses();
+    }
+
+    /**
+     * Asks catalog-service in bulk about the ids rejected locally since the last sync. Ids it has are added to
+     * the set; the rest are remembered as missing for one sync interval, so they are not queued again.
+     */
+    private void confirmMisses() {
+        List<Long> misses = new ArrayList<>(unconfirmedMisses);
+        for (int from = 0; from < misses.size(); from += CONFIRM_BATCH_SIZE) {
+            List<Long> batch = misses.subList(from, Math.min(from + CONFIRM_BATCH_SIZE, misses.size()));
+            Set<Long> existing;
+            try {
+                existing = catalogServiceClient.getExistingContentIds(batch);
+            } catch (Exception e) {
+                log.warn("Confirming {} unknown content ids with catalog-service failed: {}", misses.size() - from,
+                        e.getMessage());
+                return;
+            }
+            for (Long id : batch) {
+                if (existing.contains(id)) {
+                    knownIds.add(id);
+                } else {
+                    confirmedMissing.put(id, Boolean.TRUE);
+                }
+                unconfirmedMisses.remove(id);
+            }
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.entertainment.watchhistory.service;
 
+import com.entertainment.support.datasource.ReadRouting;
 import com.entertainment.watchhistory.client.CatalogServiceClient;
 import com.entertainment.watchhistory.client.CatalogServiceClient.ContentResponse;
+import com.entertainment.watchhistory.datasource.ReadYourWritesTracker;
 import com.entertainment.watchhistory.domain.WatchRecord;
 import com.entertainment.watchhistory.kafka.WatchEventProducer;
+import com.entertainment.watchhistory.profiling.WatchHistoryQueryEvent;
+import com.entertainment.watchhistory.repository.WatchRecordBatchWriter;
 import com.entertainment.watchhistory.repository.WatchRecordRepository;
+import com.entertainment.watchhistory.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -21,22 +27,58 @@ import java.util.stream.Collectors;
 public class WatchHistoryService {
 
     private final WatchRecordRepository watchRecordRepository;
+    private final WatchRecordBatchWriter watchRecordBatchWriter;
     private final WatchEventProducer watchEventProducer;
     private final CatalogServiceClient catalogServiceClient;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ShardRouter shardRouter;
 
-    @Transactional
+    /**
+     * Not {@code @Transactional}: the shard router opens the transaction on the visitor's shard and holds the
+     * bucket's ownership row until commit, so a bucket migration never cuts over while this write is uncommitted.
+     */
     public WatchRecord recordWatch(WatchRecord watchRecord) {
-        WatchRecord saved = watchRecordRepository.save(watchRecord);
+        watchRecord.setShardBucket(shardRouter.bucketFor(watchRecord.getVisitorId()));
+        WatchRecord saved = shardRouter.write(watchRecord.getVisitorId(), () -> watchRecordRepository.save(watchRecord));
         log.info("Recorded watch for visitor: {}, content: {}",
                 saved.getVisitorId(), saved.getContentId());
+        readYourWritesTracker.markWrite(saved.getVisitorId());
         watchEventProducer.publishWatchEvent(saved);
         return saved;
     }
 
+    public List<WatchRecord> recordWatchBatch(List<WatchRecord> watchRecords) {
+        watchRecords.forEach(record -> record.setShardBucket(shardRouter.bucketFor(record.getVisitorId())));
+        List<WatchRecord> inserted = new ArrayList<>(watchRecords.size());
+        shardRouter.writeGrouped(watchRecords, WatchRecord::getVisitorId, (shard, group) ->
+                inserted.addAll(watchRecordBatchWriter.insertIgnoringDuplicates(group)));
+        log.info("Persisted {} of {} ingested watch records", inserted.size(), watchRecords.size());
+        inserted.forEach(record -> {
+            readYourWritesTracker.markWrite(record.getVisitorId());
+            watchEventProducer.publishWatchEvent(record);
+        });
+        return inserted;
+    }
+
     @Transactional(readOnly = true)
     public List<WatchHistoryResponse> getWatchHistory(String visitorId) {
-        List<WatchRecord> records = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc(visitorId);
+        WatchHistoryQueryEvent event = new WatchHistoryQueryEvent();
+        event.begin();
+        try {
+            return loadWatchHistory(visitorId, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private List<WatchHistoryResponse> loadWatchHistory(String visitorId, WatchHistoryQueryEvent event) {
+        event.shard = shardRouter.shardFor(visitorId);
+        // The replica or shard connection is chosen on first use, so routing must wrap the first query.
+        List<WatchRecord> records = shardRouter.read(visitorId, () -> readYourWritesTracker.requiresPrimary(visitorId)
+                ? ReadRouting.onPrimary(() -> watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc(visitorId))
+                : watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc(visitorId));
 
+        event.recordCount = records.size();
         if (records.isEmpty()) {
             return List.of();
         }
@@ -45,6 +87,8 @@ public class WatchHistoryService {
                 .map(WatchRecord::getContentId)
                 .distinct()
                 .toList();
+        event.contentIdsCount = contentIds.size();
+        event.resultSize = records.size();
 
         Map<Long, ContentResponse> contentMap = catalogServiceClient.getContentBatch(contentIds)
                 .stream()
@@ -0,0 +1,51 @@
+package com.entertainment.watchhistory.service;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.kafka.IngestBackpressureMonitor;
+import com.entertainment.watchhistory.kafka.WatchIngestProducer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Chooses between log-first and synchronous ingestion for each accepted watch.
+ */
+@Service
+public class WatchIngestService {
+
+    private final IngestBackpressureMonitor backpressureMonitor;
+    private final WatchIngestProducer watchIngestProducer;
+    private final Counter asyncIngested;
+    private final Counter syncFallbacks;
+
+    public WatchIngestService(IngestBackpressureMonitor backpressureMonitor,
+                              WatchIngestProducer watchIngestProducer,
+                              MeterRegistry meterRegistry) {
+        this.backpressureMonitor = backpressureMonitor;
+        this.watchIngestProducer = watchIngestProducer;
+        this.asyncIngested = Counter.builder("watch.ingest.requests")
+                .tag("mode", "async")
+                .register(meterRegistry);
+        this.syncFallbacks = Counter.builder("watch.ingest.requests")
+                .tag("mode", "sync")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends the watch to the ingest log when asynchronous mode is enabled and the consumer is keeping up.
+     *
+     * @return the queued event, or empty if the caller must persist the watch synchronously
+     */
+    public Optional<WatchEvent> tryIngestAsync(WatchRecord watchRecord) {
+        if (!backpressureMonitor.isAsyncIngestAvailable()) {
+            syncFallbacks.increment();
+            return Optional.empty();
+        }
+        Optional<WatchEvent> event = watchIngestProducer.publish(watchRecord);
+        (event.isPresent() ? asyncIngested : syncFallbacks).increment();
+        return event;
+    }
+}
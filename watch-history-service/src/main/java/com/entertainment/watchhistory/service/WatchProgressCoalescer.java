@@ -0,0 +1,263 @@
+package com.entertainment.watchhistory.service;
+
+import com.entertainment.watchhistory.coalescing.WatchProgressBuffer;
+import com.entertainment.watchhistory.coalescing.WatchProgressBuffer.Entry;
+import com.entertainment.watchhistory.datasource.ReadYourWritesTracker;
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.kafka.WatchEventProducer;
+import com.entertainment.watchhistory.repository.WatchRecordBatchWriter;
+import com.entertainment.watchhistory.repository.WatchRecordBatchWriter.Upserted;
+import com.entertainment.watchhistory.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind path for playback heartbeats. Accepted progress is buffered per {@code (visitorId, contentId)}
+ * and flushed every {@code flush-interval-ms}, or as soon as {@code flush-threshold} keys are pending, as one
+ * upsert per shard followed by one watch event per key.
+ * <p>
+ * Durability: a flush only drops entries after their shard transaction committed, so a failed flush is retried
+ * with whatever newer progress arrived meanwhile, and shutdown drains the buffer. A hard crash loses at most the
+ * progress accepted since the last flush; once {@code max-keys} are pending, new keys are refused and the caller
+ * falls back to the regular write path.
+ */
+@Service
+@Slf4j
+public class WatchProgressCoalescer {
+
+    private final WatchProgressBuffer buffer;
+    private final WatchRecordBatchWriter watchRecordBatchWriter;
+    private final WatchEventProducer watchEventProducer;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ShardRouter shardRouter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final Duration sessionWindow;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ExecutorService thresholdFlusher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("watch-progress-flush").daemon().factory());
+    private final Counter buffered;
+    private final Counter refused;
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+    private final Timer flushLag;
+
+    public WatchProgressCoalescer(WatchRecordBatchWriter watchRecordBatchWriter,
+                                  WatchEventProducer watchEventProducer,
+                                  ReadYourWritesTracker readYourWritesTracker,
+                                  ShardRouter shardRouter,
+                                  EntityManagerFactory entityManagerFactory,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${watch-history.coalescing.enabled}") boolean enabled,
+                                  @Value("${watch-history.coalescing.stripes}") int stripes,
+                                  @Value("${watch-history.coalescing.max-keys}") int maxKeys,
+                                  @Value("${watch-history.coalescing.flush-threshold}") int flushThreshold,
+                                  @Value("${watch-history.coalescing.session-window}") Duration sessionWindow) {
+        this.buffer = new WatchProgressBuffer(stripes, maxKeys);
+        this.watchRecordBatchWriter = watchRecordBatchWriter;
+        this.watchEventProducer = watchEventProducer;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.shardRouter = shardRouter;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.flushThreshold = flushThreshold;
+        this.sessionWindow = sessionWindow;
+        this.buffered = Counter.builder("watch.coalescing.offers")
+                .tag("result", "buffered")
+                .register(meterRegistry);
+        this.refused = Counter.builder("watch.coalescing.offers")
+                .tag("result", "refused")
+                .register(meterRegistry);
+        this.insertedRows = Counter.builder("watch.coalescing.rows")
+                .tag("operation", "inserted")
+                .register(meterRegistry);
+        this.updatedRows = Counter.builder("watch.coalescing.rows")
+                .tag("operation", "updated")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("watch.coalescing.flush.failures")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("watch.coalescing.flush.duration")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("watch.coalescing.flush.lag")
+                .description("Time from the first buffered heartbeat of a key until it was persisted")
+                .register(meterRegistry);
+        Gauge.builder("watch.coalescing.pending", buffer, WatchProgressBuffer::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the accepted heartbeat, or empty if the progress was not buffered and must be written through the
+     * regular path
+     */
+    public Optional<WatchEvent> offer(WatchRecord watchRecord) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String eventId = UUID.randomUUID().toString();
+        boolean accepted = buffer.offer(watchRecord.getVisitorId(), watchRecord.getContentId(),
+                watchRecord.getWatchedSeconds(), now, eventId);
+        (accepted ? buffered : refused).increment();
+        if (!accepted) {
+            return Optional.empty();
+        }
+        if (buffer.size() >= flushThreshold) {
+            scheduleFlush();
+        }
+        return Optional.of(WatchEvent.builder()
+                .eventId(eventId)
+                .visitorId(watchRecord.getVisitorId())
+                .contentId(watchRecord.getContentId())
+                .watchedSeconds(watchRecord.getWatchedSeconds())
+                .timestamp(now)
+                .build());
+    }
+
+    /**
+     * Queues a flush on the threshold flusher unless one is already queued, so a burst of offers above the
+     * threshold costs one extra flush rather than one task per offer.
+     */
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            thresholdFlusher.execute(() -> {
+                // Cleared before flushing, so offers that arrive during this flush can queue the next one.
+                flushScheduled.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; drain() flushes what is left.
+            flushScheduled.set(false);
+        }
+    }
+
+    /**
+     * Skipped if another flush is already running; that flush, or the next one, picks up anything pending.
+     */
+    @Scheduled(fixedDelayString = "${watch-history.coalescing.flush-interval-ms}")
+    public void flush() {
+        if (!enabled || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            flushTimer.record(this::flushPending);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Entry> entries = buffer.snapshot();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Flushed> pending = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            WatchRecord record = WatchRecord.builder()
+                    .visitorId(entry.key().visitorId())
+                    .contentId(entry.key().contentId())
+                    .watchedSeconds(entry.pending().watchedSeconds())
+                    .watchedAt(entry.pending().watchedAt())
+                    .ingestId(entry.pending().ingestId())
+                    .shardBucket(shardRouter.bucketFor(entry.key().visitorId()))
+                    .build();
+            pending.add(new Flushed(entry, record));
+        }
+
+        // Each shard commits independently, so acknowledge per shard once its transaction committed: a failure on
+        // one shard leaves only its entries buffered for the next attempt.
+        try {
+            shardRouter.writeGrouped(pending, flushed -> flushed.record().getVisitorId(), (shard, group) -> {
+                List<Upserted> upserted = watchRecordBatchWriter.upsertProgress(
+                        group.stream().map(Flushed::record).toList(), sessionWindow);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        acknowledge(group, upserted);
+                    }
+                });
+            });
+        } catch (RuntimeException e) {
+            flushFailures.increment(1 + e.getSuppressed().length);
+            log.error("Failed to flush coalesced watch records to {} shard(s)", 1 + e.getSuppressed().length, e);
+        }
+    }
+
+    private void acknowledge(List<Flushed> group, List<Upserted> upserted) {
+        buffer.acknowledge(group.stream().map(Flushed::entry).toList());
+        long now = System.nanoTime();
+        for (Flushed flushed : group) {
+            flushLag.record(now - flushed.entry().pending().firstOfferedNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for (Upserted result : upserted) {
+            if (result.updated()) {
+                // Updated through JDBC, so any second-level cache copy of the row is now stale.
+                cache.evictEntityData(WatchRecord.class, result.record().getId());
+                updatedRows.increment();
+            } else {
+                insertedRows.increment();
+            }
+            readYourWritesTracker.markWrite(result.record().getVisitorId());
+            watchEventProducer.publishWatchEvent(result.record());
+        }
+    }
+
+    @PreDestroy
+    void drain() throws InterruptedException {
+        thresholdFlusher.shutdown();
+        thresholdFlusher.awaitTermination(30, TimeUnit.SECONDS);
+        if (!enabled) {
+            return;
+        }
+        // Unlike flush(), wait for a scheduled flush that is still running instead of skipping the drain.
+        flushLock.lock();
+        try {
+            int before;
+            do {
+                before = buffer.size();
+                flushTimer.record(this::flushPending);
+            } while (buffer.size() > 0 && buffer.size() < before);
+        } finally {
+            flushLock.unlock();
+        }
+        if (buffer.size() > 0) {
+            log.error("Shutting down with {} coalesced watch records that could not be flushed", buffer.size());
+        }
+    }
+
+    private record Flushed(Entry entry, WatchRecord record) {}
+}
@@ -0,0 +1,34 @@
+package com.entertainment.watchhistory.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound shard selection read by {@link ShardRoutingDataSource}. Like the read-replica hint it must be
+ * in place before the transaction issues its first statement, and one transaction never spans shards.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public static <T> T on(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.entertainment.watchhistory.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Additional Postgres instances that hold {@code watch_record} shards. Shard 0 is always
+ * {@code spring.datasource}, which also stores the bucket-to-shard map. With no extra nodes configured
+ * the service runs unsharded.
+ *
+ * @param buckets   fixed number of visitor-hash buckets; the unit of rebalancing
+ * @param maxShards stride of the interleaved identity sequences, keeping ids unique across shards
+ */
+@ConfigurationProperties("datasource.shards")
+public record ShardDataSourceProperties(
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("1024") int buckets,
+        @DefaultValue("64") int maxShards,
+        @DefaultValue("10") int maximumPoolSize
+) {
+
+    public record Node(String url, String username, String password) {}
+}
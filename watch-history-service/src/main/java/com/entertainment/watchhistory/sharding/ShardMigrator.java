@@ -0,0 +1,158 @@
+package com.entertainment.watchhistory.sharding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves one bucket of visitors to another shard while the service keeps serving traffic.
+ * <ol>
+ *     <li>Bulk copy: rows are copied by ascending id in chunks while writes continue on the source, then rows
+ *     inserted or updated in the meantime are re-copied.</li>
+ *     <li>Cutover: the source's ownership of the bucket is revoked (see {@link ShardRouter#fenceBucket}), which
+ *     waits out writers in flight on every instance and blocks new ones. Rows changed since the catch-up are
+ *     copied, the target is granted the bucket and the map entry is flipped before the revocation commits.</li>
+ *     <li>Cleanup: the source can no longer accept writes for the bucket, but instances may still read from it
+ *     until they refresh the map, so its rows are deleted only after two refresh intervals.</li>
+ * </ol>
+ * Ids are preserved, which the interleaved identity sequences keep globally unique.
+ */
+@Component
+@Slf4j
+public class ShardMigrator {
+
+    private static final String SELECT_CHUNK = """
+            SELECT id, visitor_id, content_id, watched_seconds, watched_at, ingest_id
+            FROM watch_history_db.watch_record
+            WHERE shard_bucket = ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+    private static final String INSERT_COPY = """
+            INSERT INTO watch_history_db.watch_record (id, visitor_id, content_id, watched_seconds, watched_at, ingest_id, shard_bucket)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO UPDATE SET watched_seconds = EXCLUDED.watched_seconds, watched_at = EXCLUDED.watched_at
+            """;
+
+    private final ShardRouter shardRouter;
+    private final int chunkSize;
+    private final long readDrainMs;
+    private final Counter migratedRows;
+    private final Counter migratedBuckets;
+
+    public ShardMigrator(ShardRouter shardRouter,
+                         MeterRegistry meterRegistry,
+                         @Value("${datasource.shards.migration-chunk-size:1000}") int chunkSize,
+                         @Value("${datasource.shards.map-refresh-interval-ms:5000}") long mapRefreshIntervalMs) {
+        this.shardRouter = shardRouter;
+        this.chunkSize = chunkSize;
+        this.readDrainMs = mapRefreshIntervalMs * 2;
+        this.migratedRows = Counter.builder("datasource.shard.migrated.rows").register(meterRegistry);
+        this.migratedBuckets = Counter.builder("datasource.shard.migrated.buckets").register(meterRegistry);
+    }
+
+    /**
+     * @return the number of rows moved
+     */
+    public synchronized long moveBucket(int bucket, int targetShard) throws InterruptedException {
+        if (!shardRouter.isSharded()) {
+            throw new IllegalStateException("Sharding is not enabled");
+        }
+        if (bucket < 0 || bucket >= shardRouter.bucketCount() || targetShard < 0 || targetShard >= shardRouter.shardCount()) {
+            throw new IllegalArgumentException("No bucket " + bucket + " or shard " + targetShard);
+        }
+        int sourceShard = shardRouter.shardOfBucket(bucket);
+        if (sourceShard == targetShard) {
+            return 0;
+        }
+        JdbcTemplate source = shardRouter.jdbcFor(sourceShard);
+        JdbcTemplate target = shardRouter.jdbcFor(targetShard);
+        log.info("Moving bucket {} from shard {} to shard {}", bucket, sourceShard, targetShard);
+
+        long copied = copyFrom(source, target, bucket, 0);
+        // Catch up before fencing, so the fenced step only picks up the last few writes.
+        copied += copyChanged(source, target, bucket);
+        copied += shardRouter.fenceBucket(bucket, sourceShard, () -> {
+            long changed = copyChanged(source, target, bucket);
+            shardRouter.grantBucket(bucket, targetShard);
+            shardRouter.reassign(bucket, targetShard);
+            return changed;
+        });
+
+        Thread.sleep(readDrainMs);
+        int deleted = source.update("DELETE FROM watch_history_db.watch_record WHERE shard_bucket = ?", bucket);
+
+        migratedRows.increment(copied);
+        migratedBuckets.increment();
+        log.info("Moved bucket {} to shard {}: {} rows copied, {} deleted from shard {}",
+                bucket, targetShard, copied, deleted, sourceShard);
+        return copied;
+    }
+
+    private long copyFrom(JdbcTemplate source, JdbcTemplate target, int bucket, long afterId) {
+        long copied = 0;
+        long lastId = afterId;
+        while (true) {
+            List<Map<String, Object>> rows = source.queryForList(SELECT_CHUNK, bucket, lastId, chunkSize);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+            insert(target, bucket, rows);
+            copied += rows.size();
+            lastId = ((Number) rows.getLast().get("id")).longValue();
+        }
+    }
+
+    /**
+     * Re-copies rows that are missing on the target or differ from it. Ids are allocated before commit, so a
+     * late-committing writer can leave a gap below the copy cursor, and coalesced progress updates rows in place.
+     */
+    private long copyChanged(JdbcTemplate source, JdbcTemplate target, int bucket) {
+        Map<Long, RowVersion> onTarget = versions(target, bucket);
+        List<Long> changed = versions(source, bucket).entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(onTarget.get(entry.getKey())))
+                .map(Map.Entry::getKey)
+                .toList();
+        long copied = 0;
+        for (int from = 0; from < changed.size(); from += chunkSize) {
+            List<Long> chunk = changed.subList(from, Math.min(from + chunkSize, changed.size()));
+            List<Map<String, Object>> rows = source.queryForList(
+                    "SELECT id, visitor_id, content_id, watched_seconds, watched_at, ingest_id FROM watch_history_db.watch_record WHERE id = ANY (?)",
+                    (Object) chunk.toArray(Long[]::new));
+            insert(target, bucket, rows);
+            copied += rows.size();
+        }
+        return copied;
+    }
+
+    private static Map<Long, RowVersion> versions(JdbcTemplate jdbc, int bucket) {
+        Map<Long, RowVersion> versions = new HashMap<>();
+        jdbc.query("SELECT id, watched_seconds, watched_at FROM watch_history_db.watch_record WHERE shard_bucket = ?",
+                rs -> {
+                    versions.put(rs.getLong(1), new RowVersion(rs.getInt(2), rs.getTimestamp(3)));
+                }, bucket);
+        return versions;
+    }
+
+    private static void insert(JdbcTemplate target, int bucket, List<Map<String, Object>> rows) {
+        target.batchUpdate(INSERT_COPY, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, ((Number) row.get("id")).longValue());
+            ps.setString(2, (String) row.get("visitor_id"));
+            ps.setLong(3, ((Number) row.get("content_id")).longValue());
+            ps.setInt(4, ((Number) row.get("watched_seconds")).intValue());
+            ps.setTimestamp(5, (Timestamp) row.get("watched_at"));
+            ps.setString(6, (String) row.get("ingest_id"));
+            ps.setInt(7, bucket);
+        });
+    }
+
+    private record RowVersion(int watchedSeconds, Timestamp watchedAt) {}
+}
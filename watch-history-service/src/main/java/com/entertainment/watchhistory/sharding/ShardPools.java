@@ -0,0 +1,48 @@
+package com.entertainment.watchhistory.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools for every shard, indexed by shard number. Shard 0 is the primary pool.
+ */
+public class ShardPools implements AutoCloseable {
+
+    private final List<DataSource> shards = new ArrayList<>();
+    private final List<HikariDataSource> owned = new ArrayList<>();
+
+    public ShardPools(DataSource primary, ShardDataSourceProperties properties, String driverClassName,
+                      MeterRegistry meterRegistry) {
+        shards.add(primary);
+        for (ShardDataSourceProperties.Node node : properties.nodes()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shards.size());
+            pool.setJdbcUrl(node.url());
+            pool.setUsername(node.username());
+            pool.setPassword(node.password());
+            pool.setDriverClassName(driverClassName);
+            pool.setMaximumPoolSize(properties.maximumPoolSize());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(pool);
+            owned.add(pool);
+        }
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public void close() {
+        owned.forEach(HikariDataSource::close);
+    }
+}
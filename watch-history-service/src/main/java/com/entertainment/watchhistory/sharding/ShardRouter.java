@@ -0,0 +1,363 @@
+package com.entertainment.watchhistory.sharding;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps visitors to shards: {@code visitorId -> hash bucket -> shard}. Every operation for one visitor
+ * lands on a single shard, so history reads never fan out.
+ *
+ * <p>Each shard lists the buckets it currently accepts writes for in {@code shard_bucket_owner}. Every write
+ * transaction first reads its buckets' rows there {@code FOR SHARE}, on the same connection as the write, and
+ * holds them until commit. {@link ShardMigrator} revokes a bucket by deleting the row, which waits for writers
+ * already in flight on any instance and turns away later ones; those refresh the map and retry on the new
+ * owner. The cached map is therefore only a routing hint and may lag behind a migration.
+ */
+@Component
+@Slf4j
+public class ShardRouter {
+
+    private static final String UPSERT_ASSIGNMENT = """
+            INSERT INTO watch_history_db.shard_bucket_map (bucket, shard) VALUES (?, ?)
+            ON CONFLICT (bucket) DO UPDATE SET shard = EXCLUDED.shard
+            """;
+    private static final String LOCK_OWNED_BUCKETS = """
+            SELECT bucket FROM watch_history_db.shard_bucket_owner
+            WHERE bucket = ANY (?)
+            FOR SHARE
+            """;
+    private static final String GRANT_BUCKET =
+            "INSERT INTO watch_history_db.shard_bucket_owner (bucket) VALUES (?) ON CONFLICT DO NOTHING";
+    private static final int MAX_ROUTING_ATTEMPTS = 3;
+    private static final Object MOVED = new Object();
+
+    private final ShardPools shardPools;
+    private final ShardDataSourceProperties properties;
+    private final JdbcTemplate directory;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile int[] bucketToShard;
+
+    // The EntityManagerFactory dependency orders initialization after Hibernate has created shard 0's schema.
+    public ShardRouter(ShardPools shardPools,
+                       ShardDataSourceProperties properties,
+                       EntityManagerFactory entityManagerFactory,
+                       JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.shardPools = shardPools;
+        this.properties = properties;
+        this.directory = new JdbcTemplate(shardPools.get(0));
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bucketToShard = new int[properties.buckets()];
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            int target = shard;
+            Gauge.builder("datasource.shard.buckets", this, router -> router.bucketCount(target))
+                    .tag("shard", String.valueOf(shard))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (!isSharded()) {
+            return;
+        }
+        if (shardPools.size() > properties.maxShards()) {
+            throw new IllegalStateException("Configured " + shardPools.size() + " shards but datasource.shards.max-shards is "
+                    + properties.maxShards());
+        }
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql")).execute(shardPools.get(shard));
+            interleaveIdentity(shard);
+            backfillBuckets(shard);
+        }
+        seedAssignments();
+        refreshAssignments();
+        seedOwnership();
+        log.info("Sharding watch_record across {} shards with {} buckets", shardPools.size(), properties.buckets());
+    }
+
+    public boolean isSharded() {
+        return shardPools.size() > 1;
+    }
+
+    public int shardCount() {
+        return shardPools.size();
+    }
+
+    public int bucketCount() {
+        return properties.buckets();
+    }
+
+    public int bucketFor(String visitorId) {
+        // String.hashCode is specified by the JLS, so buckets are stable across JVMs and releases.
+        int h = visitorId.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return Math.floorMod(h, properties.buckets());
+    }
+
+    public int shardFor(String visitorId) {
+        return bucketToShard[bucketFor(visitorId)];
+    }
+
+    public int shardOfBucket(int bucket) {
+        return bucketToShard[bucket];
+    }
+
+    public <T> T read(String visitorId, Supplier<T> work) {
+        if (!isSharded()) {
+            return work.get();
+        }
+        return ShardContext.on(shardFor(visitorId), work);
+    }
+
+    /**
+     * Runs {@code work} in a transaction on the visitor's shard, holding the bucket's ownership row until commit.
+     */
+    public <T> T write(String visitorId, Supplier<T> work) {
+        if (!isSharded()) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+        int[] buckets = {bucketFor(visitorId)};
+        for (int attempt = 1; ; attempt++) {
+            Object result = fenced(bucketToShard[buckets[0]], buckets, work);
+            if (result != MOVED) {
+                @SuppressWarnings("unchecked")
+                T written = (T) result;
+                return written;
+            }
+            retryAfterMove(attempt, buckets);
+        }
+    }
+
+    /**
+     * Splits items by shard and runs {@code perShard} once per shard, in a transaction on that shard that holds
+     * the ownership rows of every bucket involved until commit. Every shard is attempted; if any failed, the
+     * first failure is rethrown afterwards with the others suppressed.
+     */
+    public <T> void writeGrouped(List<T> items, Function<T, String> visitorOf, BiConsumer<Integer, List<T>> perShard) {
+        if (!isSharded()) {
+            transactionTemplate.executeWithoutResult(status -> perShard.accept(0, items));
+            return;
+        }
+        RuntimeException failure = null;
+        List<T> pending = items;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<Integer, List<T>> byShard = new TreeMap<>();
+            for (T item : pending) {
+                byShard.computeIfAbsent(shardFor(visitorOf.apply(item)), key -> new ArrayList<>()).add(item);
+            }
+            List<T> moved = new ArrayList<>();
+            for (Map.Entry<Integer, List<T>> entry : byShard.entrySet()) {
+                int shard = entry.getKey();
+                List<T> group = entry.getValue();
+                int[] buckets = group.stream().mapToInt(item -> bucketFor(visitorOf.apply(item))).distinct().sorted().toArray();
+                try {
+                    Object result = fenced(shard, buckets, () -> {
+                        perShard.accept(shard, group);
+                        return null;
+                    });
+                    if (result == MOVED) {
+                        moved.addAll(group);
+                    }
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (!moved.isEmpty()) {
+                retryAfterMove(attempt, moved.stream().mapToInt(item -> bucketFor(visitorOf.apply(item))).distinct().toArray());
+            }
+            pending = moved;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Object fenced(int shard, int[] buckets, Supplier<?> work) {
+        return ShardContext.on(shard, () -> transactionTemplate.execute(status -> {
+            List<Integer> owned = jdbcTemplate.queryForList(LOCK_OWNED_BUCKETS, Integer.class,
+                    (Object) Arrays.stream(buckets).boxed().toArray(Integer[]::new));
+            return owned.size() == buckets.length ? work.get() : MOVED;
+        }));
+    }
+
+    private void retryAfterMove(int attempt, int[] buckets) {
+        if (attempt >= MAX_ROUTING_ATTEMPTS) {
+            throw new IllegalStateException("Buckets " + Arrays.toString(buckets) + " have no owning shard after "
+                    + attempt + " attempts; a migration may have failed during cutover");
+        }
+        log.debug("Buckets {} moved since the last map refresh, refreshing and retrying", Arrays.toString(buckets));
+        refreshAssignments();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.shards.map-refresh-interval-ms:5000}")
+    public void refreshAssignments() {
+        if (!isSharded()) {
+            return;
+        }
+        int[] assignments = new int[properties.buckets()];
+        directory.query("SELECT bucket, shard FROM watch_history_db.shard_bucket_map", rs -> {
+            int bucket = rs.getInt(1);
+            if (bucket < assignments.length) {
+                assignments[bucket] = rs.getInt(2);
+            }
+        });
+        bucketToShard = assignments;
+    }
+
+    /**
+     * Revokes {@code shard}'s ownership of {@code bucket} and runs {@code cutover} before the revocation commits.
+     * The delete waits for writers still holding the row, and writers arriving meanwhile block on it, so for the
+     * duration of {@code cutover} nothing can write the bucket on {@code shard}.
+     */
+    <T> T fenceBucket(int bucket, int shard, Supplier<T> cutover) {
+        TransactionTemplate fence = new TransactionTemplate(new DataSourceTransactionManager(shardPools.get(shard)));
+        return fence.execute(status -> {
+            int revoked = jdbcFor(shard).update("DELETE FROM watch_history_db.shard_bucket_owner WHERE bucket = ?", bucket);
+            if (revoked == 0) {
+                throw new IllegalStateException("Shard " + shard + " does not own bucket " + bucket);
+            }
+            return cutover.get();
+        });
+    }
+
+    void grantBucket(int bucket, int shard) {
+        jdbcFor(shard).update(GRANT_BUCKET, bucket);
+    }
+
+    void reassign(int bucket, int shard) {
+        directory.update(UPSERT_ASSIGNMENT, bucket, shard);
+        int[] assignments = Arrays.copyOf(bucketToShard, bucketToShard.length);
+        assignments[bucket] = shard;
+        bucketToShard = assignments;
+    }
+
+    JdbcTemplate jdbcFor(int shard) {
+        return new JdbcTemplate(shardPools.get(shard));
+    }
+
+    private int bucketCount(int shard) {
+        int count = 0;
+        for (int assigned : bucketToShard) {
+            if (assigned == shard) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gives each shard an identity sequence of stride {@code maxShards} and offset {@code shard}, so ids never
+     * collide across shards and rows keep their ids when a bucket moves.
+     */
+    private void interleaveIdentity(int shard) {
+        JdbcTemplate jdbc = jdbcFor(shard);
+        int stride = properties.maxShards();
+        Long increment = jdbc.queryForObject("""
+                SELECT seqincrement FROM pg_sequence
+                WHERE seqrelid = pg_get_serial_sequence('watch_history_db.watch_record', 'id')::regclass
+                """, Long.class);
+        Long last = jdbc.queryForObject("""
+                SELECT GREATEST(
+                    COALESCE(pg_sequence_last_value(pg_get_serial_sequence('watch_history_db.watch_record', 'id')::regclass), 0),
+                    COALESCE((SELECT MAX(id) FROM watch_history_db.watch_record), 0))
+                """, Long.class);
+        if (increment != null && increment == stride && last != null && Math.floorMod(last, stride) == shard) {
+            return;
+        }
+        long base = last != null ? last : 0;
+        long start = base - Math.floorMod(base, stride) + shard;
+        if (start <= base) {
+            start += stride;
+        }
+        jdbc.execute("ALTER TABLE watch_history_db.watch_record ALTER COLUMN id SET INCREMENT BY " + stride
+                + " RESTART WITH " + start);
+        log.info("Shard {} identity now starts at {} with stride {}", shard, start, stride);
+    }
+
+    /**
+     * Assigns buckets to rows written before sharding was enabled, so the migrator can select them by bucket.
+     */
+    private void backfillBuckets(int shard) {
+        JdbcTemplate jdbc = jdbcFor(shard);
+        List<String> visitors = jdbc.queryForList(
+                "SELECT DISTINCT visitor_id FROM watch_history_db.watch_record WHERE shard_bucket IS NULL", String.class);
+        if (visitors.isEmpty()) {
+            return;
+        }
+        jdbc.batchUpdate("UPDATE watch_history_db.watch_record SET shard_bucket = ? WHERE visitor_id = ? AND shard_bucket IS NULL",
+                visitors, 1000, (ps, visitorId) -> {
+                    ps.setInt(1, bucketFor(visitorId));
+                    ps.setString(2, visitorId);
+                });
+        log.info("Backfilled shard buckets for {} visitors on shard {}", visitors.size(), shard);
+    }
+
+    /**
+     * Creates the initial map. A fresh deployment spreads buckets round-robin; one that already has history on
+     * shard 0 keeps every bucket there until it is rebalanced with the migrator.
+     */
+    private void seedAssignments() {
+        Integer existing = directory.queryForObject("SELECT COUNT(*) FROM watch_history_db.shard_bucket_map", Integer.class);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        boolean hasHistory = Boolean.TRUE.equals(directory.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM watch_history_db.watch_record)", Boolean.class));
+        List<Object[]> rows = new ArrayList<>(properties.buckets());
+        for (int bucket = 0; bucket < properties.buckets(); bucket++) {
+            rows.add(new Object[] {bucket, hasHistory ? 0 : bucket % shardPools.size()});
+        }
+        directory.batchUpdate("INSERT INTO watch_history_db.shard_bucket_map (bucket, shard) VALUES (?, ?) ON CONFLICT DO NOTHING", rows);
+    }
+
+    /**
+     * Grants each shard the buckets the map assigns it, the first time ownership is tracked. Afterwards only the
+     * migrator changes ownership, so a map read mid-migration can never grant a bucket to two shards.
+     */
+    private void seedOwnership() {
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            Integer owned = jdbcFor(shard).queryForObject("SELECT COUNT(*) FROM watch_history_db.shard_bucket_owner", Integer.class);
+            if (owned != null && owned > 0) {
+                return;
+            }
+        }
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int bucket = 0; bucket < bucketToShard.length; bucket++) {
+                if (bucketToShard[bucket] == shard) {
+                    rows.add(new Object[] {bucket});
+                }
+            }
+            jdbcFor(shard).batchUpdate(GRANT_BUCKET, rows);
+        }
+    }
+}
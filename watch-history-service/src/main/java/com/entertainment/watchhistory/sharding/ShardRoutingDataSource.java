@@ -0,0 +1,38 @@
+package com.entertainment.watchhistory.sharding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections from the shard selected in {@link ShardContext}.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<Counter> connections = new ArrayList<>();
+
+    public ShardRoutingDataSource(ShardPools shardPools, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            targets.put(shard, shardPools.get(shard));
+            connections.add(Counter.builder("datasource.shard.connections")
+                    .tag("shard", String.valueOf(shard))
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shardPools.get(0));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        int shard = ShardContext.current();
+        connections.get(shard).increment();
+        return shard;
+    }
+}
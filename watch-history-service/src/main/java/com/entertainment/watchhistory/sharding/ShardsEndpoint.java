@@ -0,0 +1,51 @@
+package com.entertainment.watchhistory.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/shards}: shows the bucket distribution and moves buckets between shards, e.g.
+ * {@code POST /actuator/shards/17 {"targetShard": 2}}. It moves data, so it is not exposed over HTTP by default;
+ * use JMX or expose it only on a secured management port.
+ */
+@Component
+@Endpoint(id = "shards")
+@RequiredArgsConstructor
+public class ShardsEndpoint {
+
+    private final ShardRouter shardRouter;
+    private final ShardMigrator shardMigrator;
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        Map<Integer, Integer> bucketsPerShard = new LinkedHashMap<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            bucketsPerShard.put(shard, 0);
+        }
+        for (int bucket = 0; bucket < shardRouter.bucketCount(); bucket++) {
+            bucketsPerShard.merge(shardRouter.shardOfBucket(bucket), 1, Integer::sum);
+        }
+        return Map.of(
+                "sharded", shardRouter.isSharded(),
+                "buckets", shardRouter.bucketCount(),
+                "bucketsPerShard", bucketsPerShard);
+    }
+
+    @ReadOperation
+    public Map<String, Object> bucket(@Selector int bucket) {
+        return Map.of("bucket", bucket, "shard", shardRouter.shardOfBucket(bucket));
+    }
+
+    @WriteOperation
+    public Map<String, Object> moveBucket(@Selector int bucket, int targetShard) throws InterruptedException {
+        long rows = shardMigrator.moveBucket(bucket, targetShard);
+        return Map.of("bucket", bucket, "shard", targetShard, "rowsMoved", rows);
+    }
+}
@@ -0,0 +1,25 @@
+CREATE SCHEMA IF NOT EXISTS watch_history_db;
+
+CREATE TABLE IF NOT EXISTS watch_history_db.watch_record (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    visitor_id      VARCHAR(255) NOT NULL,
+    content_id      BIGINT       NOT NULL,
+    watched_seconds INTEGER      NOT NULL,
+    watched_at      TIMESTAMP(6) NOT NULL,
+    ingest_id       VARCHAR(255) UNIQUE,
+    shard_bucket    INTEGER
+);
+
+CREATE INDEX IF NOT EXISTS watch_record_visitor_idx ON watch_history_db.watch_record (visitor_id, watched_at DESC);
+CREATE INDEX IF NOT EXISTS watch_record_bucket_idx ON watch_history_db.watch_record (shard_bucket, id);
+CREATE INDEX IF NOT EXISTS watch_record_unbucketed_idx ON watch_history_db.watch_record (visitor_id) WHERE shard_bucket IS NULL;
+
+CREATE TABLE IF NOT EXISTS watch_history_db.shard_bucket_map (
+    bucket INTEGER PRIMARY KEY,
+    shard  INTEGER NOT NULL
+);
+
+-- Buckets this shard accepts writes for; see ShardRouter.
+CREATE TABLE IF NOT EXISTS watch_history_db.shard_bucket_owner (
+    bucket INTEGER PRIMARY KEY
+);
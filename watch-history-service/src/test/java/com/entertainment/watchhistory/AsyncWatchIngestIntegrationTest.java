@@ -0,0 +1,119 @@
+package com.entertainment.watchhistory;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.repository.WatchRecordRepository;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+class AsyncWatchIngestIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-schema.sql");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        registry.add("watch-history.ingest.async-enabled", () -> "true");
+        registry.add("watch-history.ingest.lag-check-interval-ms", () -> "500");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WatchRecordRepository watchRecordRepository;
+
+    @Autowired
+    private WatchHistoryService watchHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        watchRecordRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAcceptWatchAndPersistItAsynchronously() throws Exception {
+        String requestBody = """
+                {
+                    "visitorId": "visitor-async",
+                    "contentId": 7,
+                    "watchedSeconds": 900
+                }
+                """;
+
+        mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.eventId").exists())
+                .andExpect(jsonPath("$.visitorId").value("visitor-async"));
+
+        await().atMost(30, TimeUnit.SECONDS).pollInterval(Duration.ofMillis(500)).untilAsserted(() -> {
+            List<WatchRecord> records = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-async");
+            assertThat(records).hasSize(1);
+            assertThat(records.getFirst().getIngestId()).isNotNull();
+            assertThat(records.getFirst().getWatchedSeconds()).isEqualTo(900);
+        });
+    }
+
+    @Test
+    void shouldIgnoreRedeliveredIngestEvents() {
+        WatchRecord record = WatchRecord.builder()
+                .ingestId("ingest-duplicate")
+                .visitorId("visitor-redelivery")
+                .contentId(3L)
+                .watchedSeconds(120)
+                .watchedAt(LocalDateTime.now())
+                .build();
+
+        assertThat(watchHistoryService.recordWatchBatch(List.of(record))).hasSize(1);
+        assertThat(watchHistoryService.recordWatchBatch(List.of(record))).isEmpty();
+        assertThat(watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-redelivery")).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectInvalidWatchRequest() throws Exception {
+        mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"visitorId\": \"\", \"contentId\": 1, \"watchedSeconds\": 10}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,89 @@
+package com.entertainment.watchhistory;
+
+import com.entertainment.support.datasource.ReadRouting;
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import com.entertainment.watchhistory.service.WatchHistoryService.WatchHistoryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses two independent Postgres instances as primary and replica, so the rows each query sees reveal where
+ * it was routed.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-schema.sql");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-replica-schema.sql");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        registry.add("datasource.read-replicas.replicas[0].url", replica::getJdbcUrl);
+        registry.add("datasource.read-replicas.replicas[0].username", replica::getUsername);
+        registry.add("datasource.read-replicas.replicas[0].password", replica::getPassword);
+    }
+
+    @Autowired
+    private WatchHistoryService watchHistoryService;
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        assertThat(watchHistoryService.getWatchHistory("replica-visitor"))
+                .extracting(WatchHistoryResponse::contentId)
+                .containsExactly(42L);
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryWithinWindow() {
+        watchHistoryService.recordWatch(WatchRecord.builder()
+                .visitorId("sticky-visitor")
+                .contentId(7L)
+                .watchedSeconds(120)
+                .build());
+
+        assertThat(watchHistoryService.getWatchHistory("sticky-visitor"))
+                .extracting(WatchHistoryResponse::contentId)
+                .containsExactly(7L);
+        assertThat(watchHistoryService.getWatchHistory("replica-visitor"))
+                .extracting(WatchHistoryResponse::contentId)
+                .containsExactly(42L);
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenPinned() {
+        assertThat(ReadRouting.onPrimary(() -> watchHistoryService.getWatchHistory("replica-visitor")))
+                .isEmpty();
+    }
+}
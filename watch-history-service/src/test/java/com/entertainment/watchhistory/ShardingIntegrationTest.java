@@ -0,0 +1,160 @@
+package com.entertainment.watchhistory;
+
+import com.entertainment.watchhistory.sharding.ShardMigrator;
+import com.entertainment.watchhistory.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the service against three Postgres containers: shard 0 (the primary) and two additional shards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+class ShardingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> shard0 = shardContainer();
+
+    @Container
+    static PostgreSQLContainer<?> shard1 = shardContainer();
+
+    @Container
+    static PostgreSQLContainer<?> shard2 = shardContainer();
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+
+    private static PostgreSQLContainer<?> shardContainer() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("entertainment")
+                .withUsername("postgres")
+                .withPassword("postgres")
+                .withInitScript("init-schema.sql");
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", shard0::getJdbcUrl);
+        registry.add("spring.datasource.username", shard0::getUsername);
+        registry.add("spring.datasource.password", shard0::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        List<PostgreSQLContainer<?>> extraShards = List.of(shard1, shard2);
+        for (int i = 0; i < extraShards.size(); i++) {
+            PostgreSQLContainer<?> shard = extraShards.get(i);
+            registry.add("datasource.shards.nodes[" + i + "].url", shard::getJdbcUrl);
+            registry.add("datasource.shards.nodes[" + i + "].username", shard::getUsername);
+            registry.add("datasource.shards.nodes[" + i + "].password", shard::getPassword);
+        }
+        registry.add("datasource.shards.buckets", () -> "16");
+        registry.add("datasource.shards.map-refresh-interval-ms", () -> "100");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardMigrator shardMigrator;
+
+    @Test
+    void shouldSpreadVisitorsAcrossShardsWithGloballyUniqueIds() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            recordWatch("spread-visitor-" + i, 100 + i);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (PostgreSQLContainer<?> shard : List.of(shard0, shard1, shard2)) {
+            List<Long> shardIds = jdbc(shard).queryForList(
+                    "SELECT id FROM watch_history_db.watch_record WHERE visitor_id LIKE 'spread-visitor-%'", Long.class);
+            assertThat(shardIds).as("every shard should own some visitors").isNotEmpty();
+            ids.addAll(shardIds);
+        }
+        assertThat(ids).hasSize(40);
+        Set<Long> distinct = new HashSet<>(ids);
+        assertThat(distinct).as("ids must not collide across shards").hasSize(40);
+
+        mockMvc.perform(get("/api/history/spread-visitor-7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].contentId").value(107));
+    }
+
+    @Test
+    void shouldMoveBucketToAnotherShardOnline() throws Exception {
+        String visitorId = "migrating-visitor";
+        recordWatch(visitorId, 1);
+        recordWatch(visitorId, 2);
+
+        int bucket = shardRouter.bucketFor(visitorId);
+        int source = shardRouter.shardOfBucket(bucket);
+        int target = (source + 1) % shardRouter.shardCount();
+        List<PostgreSQLContainer<?>> shards = List.of(shard0, shard1, shard2);
+
+        long moved = shardMigrator.moveBucket(bucket, target);
+
+        assertThat(moved).isGreaterThanOrEqualTo(2);
+        assertThat(shardRouter.shardFor(visitorId)).isEqualTo(target);
+        assertThat(countRows(shards.get(source), visitorId)).isZero();
+        assertThat(countRows(shards.get(target), visitorId)).isEqualTo(2);
+        assertThat(ownsBucket(shards.get(source), bucket)).as("source no longer accepts writes").isFalse();
+        assertThat(ownsBucket(shards.get(target), bucket)).isTrue();
+
+        recordWatch(visitorId, 3);
+        mockMvc.perform(get("/api/history/{visitorId}", visitorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    private void recordWatch(String visitorId, long contentId) throws Exception {
+        mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"visitorId": "%s", "contentId": %d, "watchedSeconds": 60}
+                                """.formatted(visitorId, contentId)))
+                .andExpect(status().isCreated());
+    }
+
+    private static int countRows(PostgreSQLContainer<?> shard, String visitorId) {
+        Integer count = jdbc(shard).queryForObject(
+                "SELECT COUNT(*) FROM watch_history_db.watch_record WHERE visitor_id = ?", Integer.class, visitorId);
+        return count != null ? count : 0;
+    }
+
+    private static boolean ownsBucket(PostgreSQLContainer<?> shard, int bucket) {
+        return Boolean.TRUE.equals(jdbc(shard).queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM watch_history_db.shard_bucket_owner WHERE bucket = ?)", Boolean.class, bucket));
+    }
+
+    private static JdbcTemplate jdbc(PostgreSQLContainer<?> shard) {
+        return new JdbcTemplate(new DriverManagerDataSource(shard.getJdbcUrl(), shard.getUsername(), shard.getPassword()));
+    }
+}
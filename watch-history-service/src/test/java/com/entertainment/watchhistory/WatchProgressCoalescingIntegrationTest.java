@@ -0,0 +1,146 @@
+package com.entertainment.watchhistory;
+
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.repository.WatchRecordBatchWriter;
+import com.entertainment.watchhistory.repository.WatchRecordRepository;
+import com.entertainment.watchhistory.service.WatchProgressCoalescer;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@ActiveProfiles("test")
+class WatchProgressCoalescingIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("entertainment")
+            .withUsername("postgres")
+            .withPassword("postgres")
+            .withInitScript("init-schema.sql");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+        registry.add("watch-history.coalescing.enabled", () -> "true");
+        // Flushes are driven explicitly by the tests.
+        registry.add("watch-history.coalescing.flush-interval-ms", () -> "3600000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WatchRecordRepository watchRecordRepository;
+
+    @Autowired
+    private WatchProgressCoalescer watchProgressCoalescer;
+
+    @Autowired
+    private WatchRecordBatchWriter watchRecordBatchWriter;
+
+    @BeforeEach
+    void setUp() {
+        watchProgressCoalescer.flush();
+        watchRecordRepository.deleteAll();
+    }
+
+    @Test
+    void shouldPersistOnlyLatestProgressOfRepeatedHeartbeats() throws Exception {
+        for (int seconds = 30; seconds <= 300; seconds += 30) {
+            heartbeat("visitor-heartbeat", 11, seconds);
+        }
+        heartbeat("visitor-heartbeat", 12, 45);
+
+        watchProgressCoalescer.flush();
+
+        List<WatchRecord> records = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-heartbeat");
+        assertThat(records).hasSize(2);
+        assertThat(records).extracting(WatchRecord::getContentId, WatchRecord::getWatchedSeconds)
+                .containsExactlyInAnyOrder(
+                        tuple(11L, 300),
+                        tuple(12L, 45));
+    }
+
+    @Test
+    void shouldUpdateTheSessionRowOnLaterFlushes() throws Exception {
+        heartbeat("visitor-session", 21, 60);
+        watchProgressCoalescer.flush();
+        Long rowId = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-session").get(0).getId();
+
+        String eventId = heartbeat("visitor-session", 21, 120);
+        watchProgressCoalescer.flush();
+
+        List<WatchRecord> records = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-session");
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0).getId()).isEqualTo(rowId);
+        assertThat(records.get(0).getWatchedSeconds()).isEqualTo(120);
+        assertThat(records.get(0).getIngestId())
+                .as("the row carries the event id returned for its latest heartbeat")
+                .isEqualTo(eventId);
+    }
+
+    @Test
+    void shouldNotMoveProgressBackwardsOnADelayedFlush() throws Exception {
+        heartbeat("visitor-delayed", 31, 240);
+        watchProgressCoalescer.flush();
+        WatchRecord stored = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-delayed").get(0);
+
+        WatchRecord delayed = WatchRecord.builder()
+                .visitorId("visitor-delayed")
+                .contentId(31L)
+                .watchedSeconds(90)
+                .watchedAt(stored.getWatchedAt().minusSeconds(10))
+                .ingestId(UUID.randomUUID().toString())
+                .build();
+        assertThat(watchRecordBatchWriter.upsertProgress(List.of(delayed), Duration.ofMinutes(30))).isEmpty();
+
+        List<WatchRecord> records = watchRecordRepository.findByVisitorIdOrderByWatchedAtDesc("visitor-delayed");
+        assertThat(records).extracting(WatchRecord::getId, WatchRecord::getWatchedSeconds)
+                .containsExactly(tuple(stored.getId(), 240));
+    }
+
+    private String heartbeat(String visitorId, long contentId, int watchedSeconds) throws Exception {
+        String response = mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"visitorId": "%s", "contentId": %d, "watchedSeconds": %d}
+                                """.formatted(visitorId, contentId, watchedSeconds)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.eventId").isNotEmpty())
+                .andExpect(jsonPath("$.watchedSeconds").value(watchedSeconds))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.eventId");
+    }
+}
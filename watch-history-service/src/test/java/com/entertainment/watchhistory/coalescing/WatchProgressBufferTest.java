@@ -0,0 +1,86 @@
+package com.entertainment.watchhistory.coalescing;
+
+import com.entertainment.watchhistory.coalescing.WatchProgressBuffer.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WatchProgressBufferTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 20, 0);
+
+    @Test
+    void shouldKeepOnlyLatestProgressPerVisitorAndContent() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer(4, 100);
+        buffer.offer("visitor-1", 1, 10, NOW, "event-1");
+        buffer.offer("visitor-1", 1, 20, NOW.plusSeconds(10), "event-2");
+        buffer.offer("visitor-1", 2, 5, NOW, "event-3");
+        buffer.offer("visitor-2", 1, 7, NOW, "event-4");
+
+        List<Entry> entries = buffer.snapshot();
+
+        assertThat(entries).hasSize(3);
+        Entry latest = entries.stream()
+                .filter(e -> e.key().equals(new WatchProgressBuffer.Key("visitor-1", 1)))
+                .findFirst()
+                .orElseThrow();
+        assertThat(latest.pending().watchedSeconds()).isEqualTo(20);
+        assertThat(latest.pending().watchedAt()).isEqualTo(NOW.plusSeconds(10));
+        assertThat(latest.pending().ingestId()).isEqualTo("event-2");
+    }
+
+    @Test
+    void shouldKeepProgressThatArrivesDuringAFlush() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer(4, 100);
+        buffer.offer("visitor-1", 1, 10, NOW, "id");
+        buffer.offer("visitor-2", 1, 10, NOW, "id");
+        List<Entry> flushed = buffer.snapshot();
+
+        buffer.offer("visitor-1", 1, 30, NOW.plusSeconds(20), "id");
+        buffer.acknowledge(flushed);
+
+        List<Entry> remaining = buffer.snapshot();
+        assertThat(remaining).hasSize(1);
+        assertThat(remaining.get(0).key().visitorId()).isEqualTo("visitor-1");
+        assertThat(remaining.get(0).pending().watchedSeconds()).isEqualTo(30);
+        assertThat(remaining.get(0).pending().firstOfferedNanos())
+                .as("flush lag is measured from the first unflushed heartbeat")
+                .isEqualTo(flushed.stream()
+                        .filter(e -> e.key().visitorId().equals("visitor-1"))
+                        .findFirst()
+                        .orElseThrow()
+                        .pending()
+                        .firstOfferedNanos());
+    }
+
+    @Test
+    void shouldRefuseNewKeysWhenFullButStillUpdatePendingOnes() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer(2, 2);
+
+        assertThat(buffer.offer("visitor-1", 1, 10, NOW, "id")).isTrue();
+        assertThat(buffer.offer("visitor-2", 1, 10, NOW, "id")).isTrue();
+        assertThat(buffer.offer("visitor-3", 1, 10, NOW, "id")).isFalse();
+        assertThat(buffer.offer("visitor-1", 1, 40, NOW, "id")).isTrue();
+        assertThat(buffer.size()).isEqualTo(2);
+
+        buffer.acknowledge(buffer.snapshot());
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.offer("visitor-3", 1, 10, NOW, "id")).isTrue();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentHeartbeats() {
+        WatchProgressBuffer buffer = new WatchProgressBuffer(16, 10_000);
+
+        IntStream.range(0, 100_000).parallel()
+                .forEach(i -> buffer.offer("visitor-" + (i % 500), i % 3, i, NOW, "id"));
+
+        assertThat(buffer.stripeCount()).isEqualTo(16);
+        assertThat(buffer.size()).isEqualTo(1_500);
+        assertThat(buffer.snapshot()).hasSize(1_500);
+    }
+}
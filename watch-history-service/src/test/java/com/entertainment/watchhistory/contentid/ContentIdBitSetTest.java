@@ -0,0 +1,46 @@
+package com.entertainment.watchhistory.contentid;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentIdBitSetTest {
+
+    @Test
+    void shouldContainOnlyAddedIds() {
+        ContentIdBitSet ids = new ContentIdBitSet();
+        ids.add(1);
+        ids.add(64);
+        ids.add(65);
+
+        assertThat(ids.contains(1)).isTrue();
+        assertThat(ids.contains(64)).isTrue();
+        assertThat(ids.contains(65)).isTrue();
+        assertThat(ids.contains(2)).isFalse();
+        assertThat(ids.contains(0)).isFalse();
+        assertThat(ids.contains(-1)).isFalse();
+        assertThat(ids.contains(Long.MAX_VALUE)).isFalse();
+        assertThat(ids.cardinality()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacityWithoutLosingBits() {
+        ContentIdBitSet ids = new ContentIdBitSet();
+        LongStream.range(1, 200_000).parallel().forEach(ids::add);
+
+        assertThat(ids.cardinality()).isEqualTo(199_999);
+        assertThat(ids.contains(199_999)).isTrue();
+        assertThat(ids.contains(200_000)).isFalse();
+    }
+
+    @Test
+    void shouldRejectIdsOutsideTheIndexableRange() {
+        ContentIdBitSet ids = new ContentIdBitSet();
+
+        assertThatThrownBy(() -> ids.add(-5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ids.add(1L << 40)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.entertainment.watchhistory.controller;
+
+import com.entertainment.watchhistory.cowatch.CoWatchIndex.AlsoWatched;
+import com.entertainment.watchhistory.service.CoWatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CoWatchController.class)
+class CoWatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CoWatchService coWatchService;
+
+    @Test
+    void shouldReturnAlsoWatched() throws Exception {
+        when(coWatchService.getAlsoWatched(1L, 5)).thenReturn(List.of(new AlsoWatched(2L, 3)));
+
+        mockMvc.perform(get("/api/content/1/also-watched").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].contentId").value(2));
+    }
+
+    @Test
+    void shouldRejectNonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/content/1/also-watched").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/content/1/also-watched").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(coWatchService, never()).getAlsoWatched(anyLong(), anyInt());
+    }
+}
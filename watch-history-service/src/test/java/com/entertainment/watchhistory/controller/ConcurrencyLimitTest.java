@@ -0,0 +1,114 @@
+package com.entertainment.watchhistory.controller;
+
+import com.entertainment.support.concurrency.ConcurrencyLimitAutoConfiguration;
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.service.CoWatchService;
+import com.entertainment.watchhistory.service.ContentIdValidator;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import com.entertainment.watchhistory.service.WatchIngestService;
+import com.entertainment.watchhistory.service.WatchProgressCoalescer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the limiter filter against the groups in {@code application.yml}: once the history-reads group is
+ * saturated further history reads are shed, while writes and also-watched reads keep their own capacity.
+ */
+@WebMvcTest({WatchHistoryController.class, CoWatchController.class})
+@ImportAutoConfiguration({ConcurrencyLimitAutoConfiguration.class, MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class})
+class ConcurrencyLimitTest {
+
+    private static final int HISTORY_READS_LIMIT = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WatchHistoryService watchHistoryService;
+
+    @MockitoBean
+    private WatchIngestService watchIngestService;
+
+    @MockitoBean
+    private ContentIdValidator contentIdValidator;
+
+    @MockitoBean
+    private WatchProgressCoalescer watchProgressCoalescer;
+
+    @MockitoBean
+    private CoWatchService coWatchService;
+
+    @Test
+    void shouldShedRequestsOverTheGroupLimitWithoutAffectingOtherGroups() throws Exception {
+        CountDownLatch admitted = new CountDownLatch(HISTORY_READS_LIMIT);
+        CountDownLatch release = new CountDownLatch(1);
+        when(watchHistoryService.getWatchHistory(anyString())).thenAnswer(invocation -> {
+            admitted.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(contentIdValidator.isKnownContent(anyLong())).thenReturn(true);
+        when(watchIngestService.tryIngestAsync(any())).thenReturn(Optional.empty());
+        when(watchHistoryService.recordWatch(any())).thenAnswer(invocation -> invocation.getArgument(0, WatchRecord.class));
+        when(coWatchService.getAlsoWatched(anyLong(), anyInt())).thenReturn(List.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(HISTORY_READS_LIMIT);
+        try {
+            List<Future<MvcResult>> inFlight = new ArrayList<>();
+            for (int i = 0; i < HISTORY_READS_LIMIT; i++) {
+                inFlight.add(executor.submit(() -> mockMvc.perform(get("/api/history/visitor-1")).andReturn()));
+            }
+            assertThat(admitted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            mockMvc.perform(get("/api/history/visitor-2"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+            mockMvc.perform(post("/api/watch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"visitorId\":\"visitor-2\",\"contentId\":1,\"watchedSeconds\":60}"))
+                    .andExpect(status().isCreated());
+            mockMvc.perform(get("/api/content/1/also-watched"))
+                    .andExpect(status().isOk());
+
+            release.countDown();
+            for (Future<MvcResult> request : inFlight) {
+                assertThat(request.get(10, TimeUnit.SECONDS).getResponse().getStatus()).isEqualTo(200);
+            }
+            mockMvc.perform(get("/api/history/visitor-2"))
+                    .andExpect(status().isOk());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
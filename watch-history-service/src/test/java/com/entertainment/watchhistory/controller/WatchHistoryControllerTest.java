@@ -0,0 +1,85 @@
+package com.entertainment.watchhistory.controller;
+
+import com.entertainment.watchhistory.event.WatchEvent;
+import com.entertainment.watchhistory.service.ContentIdValidator;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import com.entertainment.watchhistory.service.WatchIngestService;
+import com.entertainment.watchhistory.service.WatchProgressCoalescer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(WatchHistoryController.class)
+class WatchHistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WatchHistoryService watchHistoryService;
+
+    @MockitoBean
+    private WatchIngestService watchIngestService;
+
+    @MockitoBean
+    private ContentIdValidator contentIdValidator;
+
+    @MockitoBean
+    private WatchProgressCoalescer watchProgressCoalescer;
+
+    @Test
+    void shouldRejectUnknownContentWith422() throws Exception {
+        when(contentIdValidator.isKnownContent(404L)).thenReturn(false);
+
+        mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"visitorId": "visitor-1", "contentId": 404, "watchedSeconds": 60}
+                                """))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(watchProgressCoalescer, never()).offer(any());
+        verify(watchIngestService, never()).tryIngestAsync(any());
+        verify(watchHistoryService, never()).recordWatch(any());
+    }
+
+    @Test
+    void shouldReturnTheAcceptedEventWhenProgressIsCoalesced() throws Exception {
+        when(contentIdValidator.isKnownContent(42L)).thenReturn(true);
+        when(watchProgressCoalescer.offer(any())).thenReturn(Optional.of(WatchEvent.builder()
+                .eventId("event-1")
+                .visitorId("visitor-1")
+                .contentId(42L)
+                .watchedSeconds(60)
+                .timestamp(LocalDateTime.now())
+                .build()));
+
+        mockMvc.perform(post("/api/watch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"visitorId": "visitor-1", "contentId": 42, "watchedSeconds": 60}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.eventId").value("event-1"))
+                .andExpect(jsonPath("$.visitorId").value("visitor-1"))
+                .andExpect(jsonPath("$.contentId").value(42))
+                .andExpect(jsonPath("$.watchedSeconds").value(60));
+
+        verify(watchIngestService, never()).tryIngestAsync(any());
+        verify(watchHistoryService, never()).recordWatch(any());
+    }
+}
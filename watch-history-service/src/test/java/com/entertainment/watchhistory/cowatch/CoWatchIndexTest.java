@@ -0,0 +1,77 @@
+package com.entertainment.watchhistory.cowatch;
+
+import com.entertainment.watchhistory.cowatch.CoWatchIndex.AlsoWatched;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoWatchIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRankContentWatchedByTheSameVisitors() {
+        CoWatchIndex index = new CoWatchIndex(10, 5, 100);
+        index.recordWatch("visitor-1", 1);
+        index.recordWatch("visitor-1", 2);
+        index.recordWatch("visitor-1", 3);
+        index.recordWatch("visitor-2", 1);
+        index.recordWatch("visitor-2", 2);
+
+        assertThat(index.alsoWatched(1, 10))
+                .containsExactly(new AlsoWatched(2, 2), new AlsoWatched(3, 1));
+        assertThat(index.alsoWatched(3, 10))
+                .containsExactlyInAnyOrder(new AlsoWatched(1, 1), new AlsoWatched(2, 1));
+        assertThat(index.alsoWatched(99, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreRepeatedWatchesOfRecentContent() {
+        CoWatchIndex index = new CoWatchIndex(10, 5, 100);
+        index.recordWatch("visitor-1", 1);
+        index.recordWatch("visitor-1", 2);
+        index.recordWatch("visitor-1", 2);
+        index.recordWatch("visitor-1", 1);
+
+        assertThat(index.alsoWatched(1, 10)).containsExactly(new AlsoWatched(2, 1));
+    }
+
+    @Test
+    void shouldBoundEachRowToTopK() {
+        CoWatchIndex index = new CoWatchIndex(2, 100, 100);
+        for (int visitor = 0; visitor < 3; visitor++) {
+            index.recordWatch("loyal-" + visitor, 1);
+            index.recordWatch("loyal-" + visitor, 2);
+        }
+        for (long other = 10; other < 20; other++) {
+            index.recordWatch("drifter-" + other, 1);
+            index.recordWatch("drifter-" + other, other);
+        }
+
+        assertThat(index.alsoWatched(1, 10)).hasSizeLessThanOrEqualTo(2);
+        assertThat(index.alsoWatched(1, 1)).containsExactly(new AlsoWatched(2, 3));
+    }
+
+    @Test
+    void shouldRestoreFromSnapshot() throws Exception {
+        CoWatchIndex index = new CoWatchIndex(10, 5, 100);
+        index.recordWatch("visitor-1", 1);
+        index.recordWatch("visitor-1", 2);
+        index.recordWatch("visitor-2", 1);
+        index.recordWatch("visitor-2", 2);
+        index.recordWatch("visitor-2", 3);
+        Path snapshot = tempDir.resolve("co-watch.idx");
+
+        CoWatchSnapshot.write(index, snapshot);
+        CoWatchIndex restored = new CoWatchIndex(10, 5, 100);
+        int rows = CoWatchSnapshot.load(restored, snapshot);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(restored.alsoWatched(1, 10)).isEqualTo(index.alsoWatched(1, 10));
+        assertThat(restored.alsoWatched(3, 10)).isEqualTo(index.alsoWatched(3, 10));
+    }
+}
@@ -0,0 +1,126 @@
+package com.entertainment.watchhistory.kafka;
+
+import com.entertainment.watchhistory.config.WatchIngestKafkaConfig;
+import com.entertainment.watchhistory.domain.WatchRecord;
+import com.entertainment.watchhistory.service.WatchHistoryService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = {WatchIngestKafkaConfig.class, WatchIngestConsumer.class}, properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer",
+        "spring.kafka.producer.value-serializer=org.apache.kafka.common.serialization.StringSerializer",
+        "watch-history.ingest.async-enabled=true",
+        "watch-history.ingest.topic=watch-ingest-test",
+        "watch-history.ingest.partitions=1",
+        "watch-history.ingest.consumer-group=watch-ingest-test",
+        "watch-history.ingest.consumer-concurrency=1",
+        "watch-history.ingest.batch-size=10",
+        "watch-history.ingest.retry.initial-interval=50ms",
+        "watch-history.ingest.retry.max-interval=100ms",
+        "watch-history.ingest.retry.max-retries=3"
+})
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@EmbeddedKafka(partitions = 1, topics = {"watch-ingest-test", "watch-ingest-test-dlt"})
+class WatchIngestConsumerTest {
+
+    private static final String EVENT = """
+            {"eventId":"%s","visitorId":"visitor-1","contentId":7,"watchedSeconds":60,"timestamp":"2026-01-01T10:00:00"}""";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private WatchIngestConsumer watchIngestConsumer;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @MockitoBean
+    private WatchHistoryService watchHistoryService;
+
+    @Test
+    void shouldRedeliverAFailedBatchUntilItIsStored() {
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new DataAccessResourceFailureException("database unavailable");
+            }
+            return invocation.getArgument(0);
+        }).when(watchHistoryService).recordWatchBatch(anyList());
+
+        kafkaTemplate.send("watch-ingest-test", "visitor-1", EVENT.formatted("retried"));
+
+        verify(watchHistoryService, timeout(10_000).times(3)).recordWatchBatch(
+                argThat(records -> records.size() == 1
+                        && records.get(0).getIngestId().equals("retried")));
+        reset(watchHistoryService);
+    }
+
+    @Test
+    void shouldDeadLetterABatchThatKeepsFailing() {
+        doThrow(new DataAccessResourceFailureException("database unavailable"))
+                .when(watchHistoryService).recordWatchBatch(anyList());
+
+        kafkaTemplate.send("watch-ingest-test", "visitor-1", EVENT.formatted("dead-lettered"));
+
+        try (Consumer<String, String> consumer = deadLetterConsumer()) {
+            ConsumerRecord<String, String> deadLetter =
+                    KafkaTestUtils.getSingleRecord(consumer, "watch-ingest-test-dlt", Duration.ofSeconds(10));
+            assertThat(deadLetter.value()).contains("\"eventId\":\"dead-lettered\"");
+        }
+        reset(watchHistoryService);
+    }
+
+    @Test
+    void shouldSkipNullAndIncompleteMessages() {
+        clearInvocations(watchHistoryService);
+
+        watchIngestConsumer.consume(List.of("null", "{\"eventId\":\"no-visitor\",\"contentId\":7}", "not json"));
+        verify(watchHistoryService, never()).recordWatchBatch(any());
+
+        watchIngestConsumer.consume(List.of("null", EVENT.formatted("complete")));
+        verify(watchHistoryService).recordWatchBatch(ArgumentMatchers.<List<WatchRecord>>argThat(
+                records -> records.size() == 1 && records.get(0).getIngestId().equals("complete")));
+    }
+
+    private Consumer<String, String> deadLetterConsumer() {
+        Consumer<String, String> consumer = new KafkaConsumer<>(
+                KafkaTestUtils.consumerProps("dlt-reader", "false", broker),
+                new StringDeserializer(),
+                new StringDeserializer());
+        broker.consumeFromAnEmbeddedTopic(consumer, "watch-ingest-test-dlt");
+        return consumer;
+    }
+}
@@ -0,0 +1,145 @@
+package com.entertainment.watchhistory.service;
+
+import com.entertainment.watchhistory.client.CatalogServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ContentIdValidatorTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    private CatalogServiceClient catalogServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentIdValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        catalogServiceClient = mock(CatalogServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        validator = new ContentIdValidator(catalogServiceClient, meterRegistry, true, PAGE_SIZE, 100, 60_000);
+    }
+
+    @Test
+    void shouldAnswerKnownIdsLocally() {
+        syncIds(List.of(1L, 2L, 3L));
+
+        assertThat(validator.isKnownContent(2)).isTrue();
+        verify(catalogServiceClient, never()).contentExists(anyLong());
+        assertThat(checks("known")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectAndRememberConfirmedMissingIds() {
+        syncIds(List.of(1L, 2L, 3L));
+        when(catalogServiceClient.contentExists(99)).thenReturn(Optional.of(false));
+
+        assertThat(validator.isKnownContent(99)).isFalse();
+        assertThat(validator.isKnownContent(99)).isFalse();
+
+        verify(catalogServiceClient, times(1)).contentExists(99);
+        assertThat(checks("unknown")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAcceptAndLearnIdsConfirmedByCatalog() {
+        syncIds(List.of(1L, 2L, 3L));
+        when(catalogServiceClient.contentExists(4)).thenReturn(Optional.of(true));
+
+        assertThat(validator.isKnownContent(4)).isTrue();
+        assertThat(validator.isKnownContent(4)).isTrue();
+
+        verify(catalogServiceClient, times(1)).contentExists(4);
+        assertThat(checks("confirmed")).isEqualTo(1);
+        assertThat(checks("known")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectMissesBelowTheWatermarkLocallyAndConfirmThemOnTheNextSync() {
+        // Two syncs settle the watermark at 4 while ids 2 and 3 are still uncommitted in the catalog.
+        syncIds(List.of(1L, 4L));
+        validator.sync();
+
+        assertThat(validator.isKnownContent(2)).isFalse();
+        assertThat(validator.isKnownContent(3)).isFalse();
+        verify(catalogServiceClient, never()).contentExists(anyLong());
+
+        // Id 2 commits late; id 3 never does.
+        when(catalogServiceClient.getExistingContentIds(anyList())).thenReturn(Set.of(2L));
+        validator.sync();
+
+        assertThat(validator.isKnownContent(2)).isTrue();
+        assertThat(validator.isKnownContent(3)).isFalse();
+        verify(catalogServiceClient, times(1)).getExistingContentIds(anyList());
+        verify(catalogServiceClient, never()).contentExists(anyLong());
+    }
+
+    @Test
+    void shouldKeepUnconfirmedMissesQueuedWhenCatalogCannotAnswer() {
+        syncIds(List.of(1L, 4L));
+        validator.sync();
+        assertThat(validator.isKnownContent(2)).isFalse();
+
+        when(catalogServiceClient.getExistingContentIds(List.of(2L)))
+                .thenThrow(new IllegalStateException("catalog down"))
+                .thenReturn(Set.of(2L));
+        validator.sync();
+        assertThat(validator.isKnownContent(2)).isFalse();
+        validator.sync();
+
+        assertThat(validator.isKnownContent(2)).isTrue();
+    }
+
+    @Test
+    void shouldFailOpenUntilTheFirstSync() {
+        when(catalogServiceClient.getContentIdsAfter(anyLong(), anyInt())).thenThrow(new IllegalStateException("catalog down"));
+        validator.sync();
+
+        assertThat(validator.isKnownContent(42)).isTrue();
+        verify(catalogServiceClient, never()).contentExists(anyLong());
+        assertThat(checks("unverified")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailOpenWhenCatalogCannotConfirm() {
+        syncIds(List.of(1L));
+        when(catalogServiceClient.contentExists(7)).thenReturn(Optional.empty());
+
+        assertThat(validator.isKnownContent(7)).isTrue();
+        assertThat(checks("unverified")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAcceptEverythingWhenDisabled() {
+        ContentIdValidator disabled = new ContentIdValidator(catalogServiceClient, new SimpleMeterRegistry(), false,
+                PAGE_SIZE, 100, 60_000);
+
+        assertThat(disabled.isKnownContent(1)).isTrue();
+        verify(catalogServiceClient, never()).contentExists(anyLong());
+    }
+
+    private void syncIds(List<Long> ids) {
+        when(catalogServiceClient.getContentIdsAfter(anyLong(), eq(PAGE_SIZE))).thenReturn(List.of());
+        when(catalogServiceClient.getContentIdsAfter(0L, PAGE_SIZE)).thenReturn(ids);
+        validator.sync();
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("watch.content-ids.checks").tag("result", result).counter().count();
+    }
+}
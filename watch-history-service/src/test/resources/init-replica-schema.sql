@@ -0,0 +1,14 @@
+CREATE SCHEMA IF NOT EXISTS watch_history_db;
+
+CREATE TABLE watch_history_db.watch_record (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    visitor_id      VARCHAR(255) NOT NULL,
+    content_id      BIGINT NOT NULL,
+    watched_seconds INTEGER NOT NULL,
+    watched_at      TIMESTAMP(6) NOT NULL,
+    ingest_id       VARCHAR(255) UNIQUE,
+    shard_bucket    INTEGER
+);
+
+INSERT INTO watch_history_db.watch_record (visitor_id, content_id, watched_seconds, watched_at)
+VALUES ('replica-visitor', 42, 600, now());